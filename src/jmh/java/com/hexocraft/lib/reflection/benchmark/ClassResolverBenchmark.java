@@ -0,0 +1,84 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import org.inventivetalent.reflection.resolver.ClassResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClassResolver#resolve(String...)}
+ * <p>
+ * <i>cold</i> uses a new resolver for every call, <i>warm</i> a shared one. The fallback variants resolve a missing
+ * class before the existing one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassResolverBenchmark {
+
+    private static final String OUTER_CLASS   = "com.hexocraft.lib.refection.util.OuterClass";
+    private static final String MISSING_CLASS = "com.hexocraft.lib.refection.util.MissingClass";
+
+    private ClassResolver classResolver;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        classResolver = new ClassResolver();
+        classResolver.resolve(OUTER_CLASS);
+    }
+
+    @Benchmark
+    public Class<?> resolveCold() throws ClassNotFoundException {
+        return new ClassResolver().resolve(OUTER_CLASS);
+    }
+
+    @Benchmark
+    public Class<?> resolveWarm() throws ClassNotFoundException {
+        return classResolver.resolve(OUTER_CLASS);
+    }
+
+    @Benchmark
+    public Class<?> resolveFallbackCold() throws ClassNotFoundException {
+        return new ClassResolver().resolve(MISSING_CLASS, OUTER_CLASS);
+    }
+
+    @Benchmark
+    public Class<?> resolveFallbackWarm() throws ClassNotFoundException {
+        return classResolver.resolve(MISSING_CLASS, OUTER_CLASS);
+    }
+
+    @Benchmark
+    public Class<?> resolveSilentMissing() {
+        return classResolver.resolveSilent(MISSING_CLASS);
+    }
+}
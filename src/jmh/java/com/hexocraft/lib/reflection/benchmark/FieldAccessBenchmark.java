@@ -0,0 +1,97 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.refection.util.OuterClass;
+import com.hexocraft.lib.reflection.util.FieldUtil;
+import org.inventivetalent.reflection.accessor.IntGetter;
+import org.inventivetalent.reflection.resolver.ResolverCache;
+import org.inventivetalent.reflection.resolver.wrapper.FieldWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed against primitive reads of the {@link OuterClass} {@code data} field.
+ * <p>
+ * Run with {@code -prof gc}: the primitive reads should report a {@code gc.alloc.rate.norm} of 0 B/op, the boxed
+ * ones 16 B/op (the value is kept out of the {@link Integer} cache).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessBenchmark {
+
+    private OuterClass outerClass;
+
+    private Field                 data;
+    private FieldWrapper<Integer> dataWrapper;
+    private IntGetter             dataGetter;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        outerClass = new OuterClass(1000, "This is my value");
+        data = FieldUtil.getField(OuterClass.class, "data");
+        dataWrapper = ResolverCache.fieldResolver(OuterClass.class).resolveWrapper("data");
+        dataGetter = ResolverCache.fieldResolver(OuterClass.class).resolveAccessor("data");
+    }
+
+    @Benchmark
+    public Object reflectionGet() throws IllegalAccessException {
+        return data.get(outerClass);
+    }
+
+    @Benchmark
+    public int reflectionGetInt() throws IllegalAccessException {
+        return data.getInt(outerClass);
+    }
+
+    @Benchmark
+    public Object wrapperGet() {
+        return dataWrapper.get(outerClass);
+    }
+
+    @Benchmark
+    public int wrapperGetInt() {
+        return dataWrapper.getInt(outerClass);
+    }
+
+    @Benchmark
+    public int fieldUtilGetInt() throws IllegalAccessException {
+        return FieldUtil.getInt(data, outerClass);
+    }
+
+    @Benchmark
+    public int intGetter() {
+        return dataGetter.getInt(outerClass);
+    }
+}
@@ -0,0 +1,89 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.refection.util.OuterClass;
+import org.inventivetalent.reflection.resolver.FieldResolver;
+import org.inventivetalent.reflection.resolver.ResolverCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FieldResolver} lookups on the {@link OuterClass} test target
+ * <p>
+ * <i>cold</i> uses a new resolver for every call, <i>warm</i> the shared one of {@link ResolverCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldResolverBenchmark {
+
+    private FieldResolver fieldResolver;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        fieldResolver = ResolverCache.fieldResolver(OuterClass.class);
+        fieldResolver.resolve("value");
+        fieldResolver.resolveByFirstType(String.class);
+    }
+
+    @Benchmark
+    public Field resolveByFirstTypeCold() throws ReflectiveOperationException {
+        return new FieldResolver(OuterClass.class).resolveByFirstType(String.class);
+    }
+
+    @Benchmark
+    public Field resolveByFirstTypeWarm() throws ReflectiveOperationException {
+        return fieldResolver.resolveByFirstType(String.class);
+    }
+
+    @Benchmark
+    public Field resolveByLastTypeWarm() throws ReflectiveOperationException {
+        return fieldResolver.resolveByLastType(int.class);
+    }
+
+    @Benchmark
+    public Field resolveCold() throws NoSuchFieldException {
+        return new FieldResolver(OuterClass.class).resolve("value");
+    }
+
+    @Benchmark
+    public Field resolveWarm() throws NoSuchFieldException {
+        return fieldResolver.resolve("value");
+    }
+
+    @Benchmark
+    public Field resolveSilentMissing() {
+        return fieldResolver.resolveSilent("missingField");
+    }
+}
@@ -0,0 +1,114 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.refection.util.OuterClass;
+import com.hexocraft.lib.reflection.util.ConstructorUtil;
+import com.hexocraft.lib.reflection.util.InstanceUtil;
+import org.inventivetalent.reflection.accessor.Factory;
+import org.inventivetalent.reflection.resolver.ConstructorResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConstructorUtil} &amp; {@link InstanceUtil} on the {@link OuterClass} test target
+ * <p>
+ * <i>cold</i> resolves the constructor with a new resolver for every call, <i>warm</i> through the util classes and
+ * <i>invoke</i> reuses an already resolved constructor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstanceBenchmark {
+
+    private Constructor<OuterClass> intStringConstructor;
+    private Factory<OuterClass>     intStringFactory;
+
+    private List<Class<?>> intStringTypes;
+    private List<Object>   intStringArguments;
+
+    private int    data  = 10;
+    private String value = "This is my value";
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        intStringConstructor = ConstructorUtil.getConstructor(OuterClass.class, int.class, String.class);
+        intStringFactory = InstanceUtil.getFactory(OuterClass.class, int.class, String.class);
+        intStringTypes = Arrays.<Class<?>>asList(int.class, String.class);
+        intStringArguments = Arrays.<Object>asList(data, value);
+    }
+
+    @Benchmark
+    public Object invokeConstructorCold() throws ReflectiveOperationException {
+        Constructor<?> constructor = new ConstructorResolver(OuterClass.class).resolve(new Class<?>[] {int.class, String.class});
+        return ConstructorUtil.invokeConstructor(constructor, data, value);
+    }
+
+    @Benchmark
+    public Object invokeConstructorWarm() throws ReflectiveOperationException {
+        Constructor<?> constructor = ConstructorUtil.getConstructor(OuterClass.class, int.class, String.class);
+        return ConstructorUtil.invokeConstructor(constructor, data, value);
+    }
+
+    @Benchmark
+    public Object invokeConstructor() throws ReflectiveOperationException {
+        return ConstructorUtil.invokeConstructor(intStringConstructor, data, value);
+    }
+
+    @Benchmark
+    public Object factoryCreate() throws ReflectiveOperationException {
+        return intStringFactory.create(data, value);
+    }
+
+    @Benchmark
+    public Object newInstance() throws ReflectiveOperationException {
+        return InstanceUtil.newInstance(OuterClass.class);
+    }
+
+    @Benchmark
+    public Object newInstanceParameter() throws ReflectiveOperationException {
+        return InstanceUtil.newInstance(OuterClass.class, String.class, value);
+    }
+
+    @Benchmark
+    public Object newInstanceParameters() throws ReflectiveOperationException {
+        return InstanceUtil.newInstance(OuterClass.class, intStringTypes, intStringArguments);
+    }
+
+    @Benchmark
+    public Object newInstanceDirect() {
+        return new OuterClass(data, value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.refection.util.OuterClass;
+import com.hexocraft.lib.reflection.util.MethodUtil;
+import org.inventivetalent.reflection.accessor.MethodInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Core reflection against {@link MethodInvoker} on the {@link OuterClass} test targets
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodInvokeBenchmark {
+
+    private OuterClass outerClass;
+
+    private Method getData;
+    private Method setDataValue;
+
+    private MethodInvoker getDataInvoker;
+    private MethodInvoker setDataValueInvoker;
+
+    private int    data  = 10;
+    private String value = "This is my value";
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        outerClass = new OuterClass(data, value);
+        getData = MethodUtil.getMethod(OuterClass.class, "getData");
+        setDataValue = MethodUtil.getMethod(OuterClass.class, "setDataValue", int.class, String.class);
+        getDataInvoker = MethodInvoker.of(getData);
+        setDataValueInvoker = MethodInvoker.of(setDataValue);
+    }
+
+
+    //--- getData --------------------------------------------------------------
+
+    @Benchmark
+    public Object getDataReflection() throws ReflectiveOperationException {
+        return getData.invoke(outerClass);
+    }
+
+    @Benchmark
+    public Object getDataMethodUtil() throws ReflectiveOperationException {
+        return MethodUtil.invokeMethod(getData, outerClass);
+    }
+
+    @Benchmark
+    public Object getDataInvoker() throws ReflectiveOperationException {
+        return getDataInvoker.invoke0(outerClass);
+    }
+
+
+    //--- setDataValue ---------------------------------------------------------
+
+    @Benchmark
+    public Object setDataValueReflection() throws ReflectiveOperationException {
+        return setDataValue.invoke(outerClass, data, value);
+    }
+
+    @Benchmark
+    public Object setDataValueMethodUtil() throws ReflectiveOperationException {
+        return MethodUtil.invokeMethod(setDataValue, outerClass, data, value);
+    }
+
+    @Benchmark
+    public Object setDataValueInvokerVarargs() throws ReflectiveOperationException {
+        return setDataValueInvoker.invoke(outerClass, data, value);
+    }
+
+    @Benchmark
+    public Object setDataValueInvoker() throws ReflectiveOperationException {
+        return setDataValueInvoker.invoke2(outerClass, data, value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.refection.util.OuterClass;
+import org.inventivetalent.reflection.resolver.MemberIndex;
+import org.inventivetalent.reflection.resolver.MethodResolver;
+import org.inventivetalent.reflection.resolver.ResolverCache;
+import org.inventivetalent.reflection.resolver.ResolverQuery;
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper.MethodSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MethodResolver#resolve(ResolverQuery...)} &amp; {@link MethodResolver#resolveSignature(String...)} on the
+ * {@link OuterClass} test target
+ * <p>
+ * <i>cold</i> uses a new resolver for every call, <i>warm</i> the shared one of {@link ResolverCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodResolverBenchmark {
+
+    private static final String SET_DATA_VALUE_SIGNATURE = "void setDataValue(int,String)";
+
+    private MethodResolver  methodResolver;
+    private ResolverQuery   setDataValueQuery;
+    private MemberIndex     memberIndex;
+    private MethodSignature wildcardSignature;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        methodResolver = ResolverCache.methodResolver(OuterClass.class);
+        setDataValueQuery = new ResolverQuery("setDataValue", int.class, String.class);
+        methodResolver.resolve(setDataValueQuery);
+        methodResolver.resolveSignature(SET_DATA_VALUE_SIGNATURE);
+        memberIndex = MemberIndex.of(OuterClass.class);
+        wildcardSignature = MethodSignature.fromString("void set*(int,*)");
+    }
+
+    @Benchmark
+    public Method resolveCold() throws NoSuchMethodException {
+        return new MethodResolver(OuterClass.class).resolve(setDataValueQuery);
+    }
+
+    @Benchmark
+    public Method resolveWarm() throws NoSuchMethodException {
+        return methodResolver.resolve(setDataValueQuery);
+    }
+
+    @Benchmark
+    public Method resolveNameWarm() throws NoSuchMethodException {
+        return methodResolver.resolve("getValue");
+    }
+
+    @Benchmark
+    public Method resolveSignatureCold() throws ReflectiveOperationException {
+        return new MethodResolver(OuterClass.class).resolveSignature(SET_DATA_VALUE_SIGNATURE);
+    }
+
+    @Benchmark
+    public Method resolveSignatureWarm() throws ReflectiveOperationException {
+        return methodResolver.resolveSignature(SET_DATA_VALUE_SIGNATURE);
+    }
+
+    @Benchmark
+    public Method resolveSilentMissing() {
+        return methodResolver.resolveSilent("missingMethod");
+    }
+
+    @Benchmark
+    public int matchWildcardSignature() {
+        return memberIndex.methodOrdinal(wildcardSignature);
+    }
+
+    @Benchmark
+    public Method resolveSignaturePatternWarm() {
+        return methodResolver.resolveSignaturePatternSilent("void set*(int,*)");
+    }
+}
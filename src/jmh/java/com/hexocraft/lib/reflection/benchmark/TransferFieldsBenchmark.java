@@ -0,0 +1,114 @@
+package com.hexocraft.lib.reflection.benchmark;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.refection.util.OuterClass;
+import com.hexocraft.lib.reflection.util.FieldUtil;
+import org.inventivetalent.reflection.accessor.FieldLayout;
+import org.inventivetalent.reflection.accessor.FieldLayout.Snapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FieldUtil#transferFields(Class, Object, Object)} &amp; {@link FieldLayout} snapshots on the {@link OuterClass} test target
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferFieldsBenchmark {
+
+    private OuterClass from;
+    private OuterClass to;
+
+    private FieldLayout layout;
+    private Snapshot    snapshot;
+    private Snapshot    base;
+
+    @Setup
+    public void setup() {
+        from = new OuterClass(1000, "This is my value");
+        to = new OuterClass();
+        layout = FieldLayout.of(OuterClass.class);
+        snapshot = layout.newSnapshot();
+        base = layout.snapshot(to);
+    }
+
+    @Benchmark
+    public Object transferFields() throws ReflectiveOperationException {
+        FieldUtil.transferFields(OuterClass.class, from, to);
+        return to;
+    }
+
+    @Benchmark
+    public Object transferNamedFields() throws ReflectiveOperationException {
+        FieldUtil.transferFields(OuterClass.class, from, to, "data", "value");
+        return to;
+    }
+
+    @Benchmark
+    public Object transferField() throws ReflectiveOperationException {
+        FieldUtil.transferField(OuterClass.class, from, to, "data");
+        return to;
+    }
+
+    @Benchmark
+    public Object transferFieldsDeep() {
+        FieldUtil.transferFields(OuterClass.class, from, to, true);
+        return to;
+    }
+
+    /**
+     * The former path of {@link FieldUtil#transferFields(Class, Object, Object)}: a lookup &amp; a boxed get/set per field
+     */
+    @Benchmark
+    public Object transferFieldsPerField() throws ReflectiveOperationException {
+        for (Field field : OuterClass.class.getDeclaredFields()) {
+            FieldUtil.transferField(OuterClass.class, from, to, field.getName());
+        }
+        return to;
+    }
+
+    @Benchmark
+    public Object snapshotApplyChanges() {
+        layout.snapshot(from, snapshot);
+        layout.applyChanges(snapshot, base, to);
+        return to;
+    }
+
+    @Benchmark
+    public Object transferDirect() {
+        to.setData(from.getData());
+        to.setValue(from.getValue());
+        return to;
+    }
+}
@@ -18,7 +18,7 @@ package com.hexocraft.lib.reflection.util;
 
  */
 
-import org.inventivetalent.reflection.resolver.ConstructorResolver;
+import org.inventivetalent.reflection.resolver.ResolverCache;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -51,7 +51,7 @@ public class ConstructorUtil {
      */
     public static <T> Constructor<T> getConstructor(Class<?> clazz, Class<?>... parameterTypes)
         throws NoSuchMethodException {
-        return (Constructor<T>) new ConstructorResolver(clazz).resolve(parameterTypes);
+        return (Constructor<T>) ResolverCache.constructorResolver(clazz).resolve(parameterTypes);
     }
 
     /**
@@ -62,7 +62,7 @@ public class ConstructorUtil {
      * @return the {@code Constructor} that matches the specified {@code clazz} and {@code parameterTypes}
      */
     public static <T> Constructor<T> getConstructorSilent(Class<?> clazz, Class<?>... parameterTypes) {
-        return (Constructor<T>) new ConstructorResolver(clazz).resolveSilent(parameterTypes);
+        return (Constructor<T>) ResolverCache.constructorResolver(clazz).resolveSilent(parameterTypes);
     }
 
     /**
@@ -98,7 +98,7 @@ public class ConstructorUtil {
      */
     public static <T> Constructor<T> getConstructor(Class<?> clazz, Class<?> parameterType)
         throws NoSuchMethodException {
-        return (Constructor<T>) new ConstructorResolver(clazz).resolve(new Class[] {parameterType});
+        return (Constructor<T>) ResolverCache.constructorResolver(clazz).resolve(new Class[] {parameterType});
     }
 
     /**
@@ -109,7 +109,7 @@ public class ConstructorUtil {
      * @return the {@code Constructor} that matches the specified {@code clazz} and {@code parameterTypes}
      */
     public static <T> Constructor<T> getConstructorSilent(Class<?> clazz, Class<?> parameterType) {
-        return (Constructor<T>) new ConstructorResolver(clazz).resolveSilent(new Class[] {parameterType});
+        return (Constructor<T>) ResolverCache.constructorResolver(clazz).resolveSilent(new Class[] {parameterType});
     }
 
     /**
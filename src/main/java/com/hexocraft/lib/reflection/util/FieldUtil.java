@@ -19,12 +19,13 @@ package com.hexocraft.lib.reflection.util;
  */
 
 
-import org.inventivetalent.reflection.resolver.FieldResolver;
+import org.inventivetalent.reflection.accessor.FieldAccessor;
+import org.inventivetalent.reflection.accessor.FieldCopier;
+import org.inventivetalent.reflection.accessor.FieldLayout;
+import org.inventivetalent.reflection.accessor.FieldLayout.Snapshot;
+import org.inventivetalent.reflection.resolver.ResolverCache;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 
@@ -46,7 +47,7 @@ public class FieldUtil {
      * @throws NoSuchFieldException If not exist in {@code clazz}
      */
     public static Field getField(Class<?> clazz, String name) throws NoSuchFieldException {
-        return new FieldResolver(clazz).resolve(name);
+        return ResolverCache.fieldResolver(clazz).resolve(name);
     }
 
     /**
@@ -56,7 +57,7 @@ public class FieldUtil {
      * @return the {@code Field} that matches the specified {@code clazz} and {@code name}
      */
     public static Field getFieldSilent(Class<?> clazz, String name) {
-        return new FieldResolver(clazz).resolveSilent(name);
+        return ResolverCache.fieldResolver(clazz).resolveSilent(name);
     }
 
     /**
@@ -82,13 +83,8 @@ public class FieldUtil {
      * @return the {@code Object} object that matches the specified {@code clazz} and {@code name} and {@code from}
      */
     public static Object getFieldSilent(Class<?> clazz, String name, Object from) {
-        try {
-            return getField(clazz, name).get(from);
-        }
-        catch (IllegalAccessException | NoSuchFieldException ignored) {
-            // Exception not thrown
-        }
-        return null;
+        Field field = getFieldSilent(clazz, name);
+        return field != null ? getFieldSilent(field, from) : null;
     }
 
     /**
@@ -101,7 +97,10 @@ public class FieldUtil {
      *         the underlying field is inaccessible.
      */
     public static Object getField(Field field, Object from) throws IllegalAccessException {
-        return field.get(from);
+        if (!field.isAccessible()) {
+            return field.get(from);
+        }
+        return FieldAccessor.of(field).get(from);
     }
 
     /**
@@ -112,7 +111,7 @@ public class FieldUtil {
      */
     public static Object getFieldSilent(Field field, Object from) {
         try {
-            return field.get(from);
+            return getField(field, from);
         }
         catch (IllegalAccessException ignored) {
             // Exception not thrown
@@ -143,13 +142,7 @@ public class FieldUtil {
      * @return the {@code Object} object that matches the specified {@code name} and {@code from}
      */
     public static <T> T getFieldSilent(String name, Object from) {
-        try {
-            return (T) getField(from.getClass(), name).get(from);
-        }
-        catch (IllegalAccessException | NoSuchFieldException ignored) {
-            // Exception not thrown
-        }
-        return null;
+        return (T) getFieldSilent(from.getClass(), name, from);
     }
 
 
@@ -266,7 +259,302 @@ public class FieldUtil {
      *         the underlying field is either inaccessible or final.
      */
     public static void setField(Field field, Object object, Object value) throws IllegalAccessException {
-        field.set(object, value);
+        if (!field.isAccessible()) {
+            field.set(object, value);
+            return;
+        }
+        FieldAccessor.of(field).set(object, value);
+    }
+
+
+    //--- primitive get/set ----------------------------------------------------
+
+    /**
+     * Reads a {@code boolean} field without boxing
+     *
+     * @param field field to get, must be of type {@code boolean}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static boolean getBoolean(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getBoolean(from);
+        }
+        return FieldAccessor.of(field).getBoolean(from);
+    }
+
+    /**
+     * Writes a {@code boolean} field without boxing
+     *
+     * @param field field to set, must be of type {@code boolean}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setBoolean(Field field, Object object, boolean value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setBoolean(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setBoolean(object, value);
+    }
+
+    /**
+     * Reads a {@code byte} field without boxing
+     *
+     * @param field field to get, must be of type {@code byte}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static byte getByte(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getByte(from);
+        }
+        return FieldAccessor.of(field).getByte(from);
+    }
+
+    /**
+     * Writes a {@code byte} field without boxing
+     *
+     * @param field field to set, must be of type {@code byte}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setByte(Field field, Object object, byte value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setByte(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setByte(object, value);
+    }
+
+    /**
+     * Reads a {@code char} field without boxing
+     *
+     * @param field field to get, must be of type {@code char}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static char getChar(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getChar(from);
+        }
+        return FieldAccessor.of(field).getChar(from);
+    }
+
+    /**
+     * Writes a {@code char} field without boxing
+     *
+     * @param field field to set, must be of type {@code char}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setChar(Field field, Object object, char value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setChar(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setChar(object, value);
+    }
+
+    /**
+     * Reads a {@code short} field without boxing
+     *
+     * @param field field to get, must be of type {@code short}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static short getShort(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getShort(from);
+        }
+        return FieldAccessor.of(field).getShort(from);
+    }
+
+    /**
+     * Writes a {@code short} field without boxing
+     *
+     * @param field field to set, must be of type {@code short}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setShort(Field field, Object object, short value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setShort(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setShort(object, value);
+    }
+
+    /**
+     * Reads a {@code int} field without boxing
+     *
+     * @param field field to get, must be of type {@code int}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static int getInt(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getInt(from);
+        }
+        return FieldAccessor.of(field).getInt(from);
+    }
+
+    /**
+     * Writes a {@code int} field without boxing
+     *
+     * @param field field to set, must be of type {@code int}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setInt(Field field, Object object, int value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setInt(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setInt(object, value);
+    }
+
+    /**
+     * Reads a {@code long} field without boxing
+     *
+     * @param field field to get, must be of type {@code long}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static long getLong(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getLong(from);
+        }
+        return FieldAccessor.of(field).getLong(from);
+    }
+
+    /**
+     * Writes a {@code long} field without boxing
+     *
+     * @param field field to set, must be of type {@code long}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setLong(Field field, Object object, long value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setLong(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setLong(object, value);
+    }
+
+    /**
+     * Reads a {@code float} field without boxing
+     *
+     * @param field field to get, must be of type {@code float}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static float getFloat(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getFloat(from);
+        }
+        return FieldAccessor.of(field).getFloat(from);
+    }
+
+    /**
+     * Writes a {@code float} field without boxing
+     *
+     * @param field field to set, must be of type {@code float}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setFloat(Field field, Object object, float value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setFloat(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setFloat(object, value);
+    }
+
+    /**
+     * Reads a {@code double} field without boxing
+     *
+     * @param field field to get, must be of type {@code double}
+     * @param from The object to get the field from
+     *
+     * @return the value of the {@code field} in {@code from}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is inaccessible.
+     */
+    public static double getDouble(Field field, Object from) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            return field.getDouble(from);
+        }
+        return FieldAccessor.of(field).getDouble(from);
+    }
+
+    /**
+     * Writes a {@code double} field without boxing
+     *
+     * @param field field to set, must be of type {@code double}
+     * @param object the object whose field should be modified
+     * @param value the new value for the field of {@code object}
+     *
+     * @throws IllegalAccessException if this {@code Field} object is enforcing Java language access control and
+     *         the underlying field is either inaccessible or final.
+     */
+    public static void setDouble(Field field, Object object, double value) throws IllegalAccessException {
+        if (!field.isAccessible()) {
+            field.setDouble(object, value);
+            return;
+        }
+        FieldAccessor.of(field).setDouble(object, value);
     }
 
 
@@ -278,26 +566,100 @@ public class FieldUtil {
         setField(field, to, value);
     }
 
+    /**
+     * Copies fields through the {@link FieldCopier} compiled for {@code clazz}
+     *
+     * @param clazz Class declaring the fields
+     * @param from The object to copy the fields from
+     * @param to The object to copy the fields to
+     * @param fieldNames the names of the fields to copy
+     *
+     * @throws NoSuchFieldException If a field does not exist in {@code clazz}
+     * @throws IllegalAccessException never, kept for compatibility
+     */
     public static void transferFields(Class<?> clazz, Object from, Object to, String... fieldNames) throws NoSuchFieldException, IllegalAccessException {
-        List<String> aFieldNames = new ArrayList<>();
-        Collections.addAll(aFieldNames, fieldNames);
-        transferFields(clazz, from, to, aFieldNames);
+        FieldCopier.of(clazz, fieldNames).copy(from, to);
     }
 
+    /**
+     * @param clazz Class declaring the fields
+     * @param from The object to copy the fields from
+     * @param to The object to copy the fields to
+     * @param fieldNames the names of the fields to copy, {@code null} to copy all the instance fields
+     *
+     * @throws NoSuchFieldException If a field does not exist in {@code clazz}
+     * @throws IllegalAccessException never, kept for compatibility
+     * @see #transferFields(Class, Object, Object, String...)
+     */
     public static void transferFields(Class<?> clazz, Object from, Object to, List<String> fieldNames) throws NoSuchFieldException, IllegalAccessException {
         if (fieldNames == null) {
-            fieldNames = new ArrayList<>();
-            for (Field field : clazz.getDeclaredFields()) {
-                fieldNames.add(field.getName());
-            }
-        }
-
-        for (String fieldName : fieldNames) {
-            transferField(clazz, from, to, fieldName);
+            transferFields(clazz, from, to);
+            return;
         }
+        transferFields(clazz, from, to, fieldNames.toArray(new String[0]));
     }
 
+    /**
+     * Copies all the instance fields declared by {@code clazz}, sharing the referenced objects
+     *
+     * @param clazz Class declaring the fields
+     * @param from The object to copy the fields from
+     * @param to The object to copy the fields to
+     *
+     * @throws NoSuchFieldException never, kept for compatibility
+     * @throws IllegalAccessException never, kept for compatibility
+     */
     public static void transferFields(Class<?> clazz, Object from, Object to) throws NoSuchFieldException, IllegalAccessException {
-        transferFields(clazz, from, to, (List<String>) null);
+        FieldCopier.of(clazz).copy(from, to);
+    }
+
+    /**
+     * Copies all the instance fields declared by {@code clazz}
+     *
+     * @param clazz Class declaring the fields
+     * @param from The object to copy the fields from
+     * @param to The object to copy the fields to
+     * @param deep {@code true} to clone the arrays, {@code false} to share them
+     */
+    public static void transferFields(Class<?> clazz, Object from, Object to, boolean deep) {
+        FieldCopier copier = FieldCopier.of(clazz);
+        (deep ? copier.deep() : copier).copy(from, to);
+    }
+
+
+    //--- snapshotFields -------------------------------------------------------
+
+    /**
+     * Reads all the instance fields of an object (declared by its class &amp; superclasses), see {@link FieldLayout}
+     *
+     * @param from The object to read
+     *
+     * @return a new snapshot of the fields, use {@link FieldLayout#snapshot(Object, Snapshot)} to reuse one
+     */
+    public static Snapshot snapshotFields(Object from) {
+        return FieldLayout.of(from.getClass()).snapshot(from);
+    }
+
+    /**
+     * Writes a snapshot taken by {@link #snapshotFields(Object)} to an object of the same class
+     *
+     * @param snapshot the snapshot to apply
+     * @param to The object to write
+     */
+    public static void applyFields(Snapshot snapshot, Object to) {
+        snapshot.getLayout().apply(snapshot, to);
+    }
+
+    /**
+     * Writes only the fields of a snapshot that differ from {@code base}
+     *
+     * @param snapshot the snapshot to apply
+     * @param base the snapshot to compare with, e.g. the snapshot {@code to} was last synchronized with
+     * @param to The object to write
+     *
+     * @return the number of written fields
+     */
+    public static int applyChangedFields(Snapshot snapshot, Snapshot base, Object to) {
+        return snapshot.getLayout().applyChanges(snapshot, base, to);
     }
 }
@@ -18,6 +18,9 @@ package com.hexocraft.lib.reflection.util;
 
  */
 
+import org.inventivetalent.reflection.accessor.Factory;
+
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
@@ -44,7 +47,7 @@ public class InstanceUtil {
      * @throws InvocationTargetException if the underlying constructor throws an exception.
      */
     public static <T> T newInstance(Class<?> clazz) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        return invokeConstructor(getConstructor(clazz));
+        return (T) getFactory(clazz).create();
     }
 
     /**
@@ -75,7 +78,7 @@ public class InstanceUtil {
      * @throws InvocationTargetException if the underlying constructor throws an exception.
      */
     public static <T> T newInstance(Class<?> clazz, Class<?> parameterType, Object argument) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        return invokeConstructor(getConstructor(clazz, parameterType), argument);
+        return (T) getFactory(clazz, parameterType).create(argument);
     }
 
     /**
@@ -110,9 +113,7 @@ public class InstanceUtil {
      * @throws InvocationTargetException if the underlying constructor throws an exception.
      */
     public static <T> T newInstance(Class<?> clazz, List<Class<?>> parameterTypes, List<Object> arguments) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        return invokeConstructor(
-            getConstructor(clazz, parameterTypes.toArray(new Class<?>[0]))
-            , arguments.toArray(new Object[0]));
+        return (T) getFactory(clazz, parameterTypes.toArray(new Class<?>[0])).newInstance(arguments.toArray());
     }
 
     /**
@@ -130,4 +131,37 @@ public class InstanceUtil {
             getConstructorSilent(clazz, parameterTypes.toArray(new Class<?>[0]))
             , arguments.toArray(new Object[0]));
     }
+
+    //--- getFactory -----------------------------------------------------------
+
+    /**
+     * Returns a reusable factory for the constructor, to create instances in hot paths without any lookup. Its
+     * {@code create(a)}, {@code create(a, b)} &amp; {@code create(a, b, c)} methods don't allocate an argument array.
+     *
+     * @param clazz Class containing the constructor
+     * @param parameterTypes the parameter types of the constructor
+     * @param <T> Class type
+     *
+     * @return the (cached) thread-safe factory of the constructor
+     *
+     * @throws NoSuchMethodException If not exist in {@code clazz}
+     */
+    public static <T> Factory<T> getFactory(Class<T> clazz, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Constructor<T> constructor = getConstructor(clazz, parameterTypes);
+        return Factory.of(constructor);
+    }
+
+    /**
+     * @param clazz Class containing the constructor
+     * @param parameterTypes the parameter types of the constructor
+     * @param <T> Class type
+     *
+     * @return the (cached) thread-safe factory of the constructor, or {@code null} if it doesn't exist
+     *
+     * @see #getFactory(Class, Class[])
+     */
+    public static <T> Factory<T> getFactorySilent(Class<T> clazz, Class<?>... parameterTypes) {
+        Constructor<T> constructor = getConstructorSilent(clazz, parameterTypes);
+        return constructor != null ? Factory.of(constructor) : null;
+    }
 }
@@ -18,7 +18,8 @@ package com.hexocraft.lib.reflection.util;
 
  */
 
-import org.inventivetalent.reflection.resolver.MethodResolver;
+import org.inventivetalent.reflection.accessor.MethodInvoker;
+import org.inventivetalent.reflection.resolver.ResolverCache;
 import org.inventivetalent.reflection.resolver.ResolverQuery;
 
 import java.lang.reflect.InvocationTargetException;
@@ -26,8 +27,7 @@ import java.lang.reflect.Method;
 
 public class MethodUtil {
 
-    private static final Class<?>[] EMPTY_CLASS_ARRAY  = new Class<?>[0];
-    private static final Object[]   EMPTY_OBJECT_ARRAY = new Object[0];
+    private static final Class<?>[] EMPTY_CLASS_ARRAY = new Class<?>[0];
 
     private MethodUtil() {
         throw new IllegalAccessError("This is a private constructor Use static functions instead.");
@@ -48,7 +48,7 @@ public class MethodUtil {
      */
     public static Method getMethod(Class<?> clazz, String name, Class<?>... parameterTypes)
         throws NoSuchMethodException {
-        return new MethodResolver(clazz).resolve(new ResolverQuery(name, parameterTypes));
+        return ResolverCache.methodResolver(clazz).resolve(new ResolverQuery(name, parameterTypes));
     }
 
     /**
@@ -60,12 +60,7 @@ public class MethodUtil {
      * parameterTypes}
      */
     public static Method getMethodSilent(Class<?> clazz, String name, Class<?>... parameterTypes) {
-        try {
-            return new MethodResolver(clazz).resolve(new ResolverQuery(name, parameterTypes));
-        } catch(NoSuchMethodException ignored) {
-            // Exception not thrown
-        }
-        return null;
+        return ResolverCache.methodResolver(clazz).resolveSilent(new ResolverQuery(name, parameterTypes));
     }
 
     /**
@@ -78,7 +73,7 @@ public class MethodUtil {
      * @throws NoSuchMethodException If {@code name} not exist in {@code clazz}
      */
     public static Method getMethod(Class<?> clazz, String name) throws NoSuchMethodException {
-        return new MethodResolver(clazz).resolve(new ResolverQuery(name, EMPTY_CLASS_ARRAY));
+        return ResolverCache.methodResolver(clazz).resolve(new ResolverQuery(name, EMPTY_CLASS_ARRAY));
     }
 
     /**
@@ -89,12 +84,7 @@ public class MethodUtil {
      * parameterTypes}
      */
     public static Method getMethodSilent(Class<?> clazz, String name) {
-        try {
-            return new MethodResolver(clazz).resolve(new ResolverQuery(name, EMPTY_CLASS_ARRAY));
-        } catch(NoSuchMethodException ignored) {
-            // Exception not thrown
-        }
-        return null;
+        return ResolverCache.methodResolver(clazz).resolveSilent(new ResolverQuery(name, EMPTY_CLASS_ARRAY));
     }
 
 
@@ -169,7 +159,7 @@ public class MethodUtil {
      */
     public static <T> T invokeMethod(Method method, Object target, Object... arguments)
         throws InvocationTargetException, IllegalAccessException {
-        return (T) method.invoke(target, arguments);
+        return (T) MethodInvoker.of(method).invoke(target, arguments);
     }
 
     /**
@@ -183,7 +173,7 @@ public class MethodUtil {
      */
     public static <T> T invokeMethodSilent(Method method, Object target, Object... arguments) {
         try {
-            return (T) method.invoke(target, arguments);
+            return (T) MethodInvoker.of(method).invoke(target, arguments);
         } catch(IllegalAccessException | InvocationTargetException ignored) {
             // Exception not thrown
         }
@@ -206,7 +196,7 @@ public class MethodUtil {
      */
     public static <T> T invokeMethod(Method method, Object target, Object argument)
         throws InvocationTargetException, IllegalAccessException {
-        return invokeMethod(method, target, new Object[] {argument});
+        return (T) MethodInvoker.of(method).invoke1(target, argument);
     }
 
     /**
@@ -219,7 +209,12 @@ public class MethodUtil {
      * arguments}
      */
     public static <T> T invokeMethodSilent(Method method, Object target, Object argument) {
-        return invokeMethodSilent(method, target, new Object[] {argument});
+        try {
+            return (T) MethodInvoker.of(method).invoke1(target, argument);
+        } catch(IllegalAccessException | InvocationTargetException ignored) {
+            // Exception not thrown
+        }
+        return null;
     }
 
     /**
@@ -237,7 +232,7 @@ public class MethodUtil {
      * the corresponding formal parameter type by a method invocation conversion.
      */
     public static <T> T invokeMethod(Method method, Object target) throws InvocationTargetException, IllegalAccessException {
-        return (T) invokeMethod(method, target, EMPTY_OBJECT_ARRAY);
+        return (T) MethodInvoker.of(method).invoke0(target);
     }
 
     /**
@@ -249,6 +244,11 @@ public class MethodUtil {
      * arguments}
      */
     public static <T> T invokeMethodSilent(Method method, Object target) {
-        return (T) invokeMethodSilent(method, target, EMPTY_OBJECT_ARRAY);
+        try {
+            return (T) MethodInvoker.of(method).invoke0(target);
+        } catch(IllegalAccessException | InvocationTargetException ignored) {
+            // Exception not thrown
+        }
+        return null;
     }
 }
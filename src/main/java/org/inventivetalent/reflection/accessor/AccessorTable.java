@@ -0,0 +1,67 @@
+package org.inventivetalent.reflection.accessor;
+
+import java.lang.reflect.AccessibleObject;
+import java.util.Arrays;
+
+/**
+ * Copy-on-write table of the accessors created for the members of one class.
+ * <p>
+ * Callers usually pass the same (resolved) member instance over and over, so it is first searched by identity, which
+ * is cheaper than hashing a {@link java.lang.reflect.Method} or {@link java.lang.reflect.Field}. An entry only matches a
+ * member with the same accessible flag as the member it was created for, since the accessor may skip the access checks
+ * of an accessible member.
+ *
+ * @param <V> accessor type
+ */
+final class AccessorTable<V> {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	// members[i], accessible[i] are the key of values[i], the arrays are replaced together
+	private volatile Entries entries = new Entries(new AccessibleObject[0], new boolean[0], EMPTY);
+
+	V get(AccessibleObject member) {
+		Entries entries = this.entries;
+		AccessibleObject[] members = entries.members;
+		boolean accessible = member.isAccessible();
+		for (int i = 0; i < members.length; i++) {
+			if (members[i] == member && entries.accessible[i] == accessible) { return (V) entries.values[i]; }
+		}
+		for (int i = 0; i < members.length; i++) {
+			if (entries.accessible[i] == accessible && members[i].equals(member)) { return (V) entries.values[i]; }
+		}
+		return null;
+	}
+
+	/**
+	 * @param member member the accessor was created for, with the accessible flag it was created with
+	 * @param value  the accessor
+	 * @return the accessor already in the table for the member, or the given one
+	 */
+	synchronized V add(AccessibleObject member, V value) {
+		V existing = get(member);
+		if (existing != null) { return existing; }
+		Entries entries = this.entries;
+		AccessibleObject[] members = Arrays.copyOf(entries.members, entries.members.length + 1);
+		boolean[] accessible = Arrays.copyOf(entries.accessible, entries.accessible.length + 1);
+		Object[] values = Arrays.copyOf(entries.values, entries.values.length + 1);
+		members[members.length - 1] = member;
+		accessible[accessible.length - 1] = member.isAccessible();
+		values[values.length - 1] = value;
+		this.entries = new Entries(members, accessible, values);
+		return value;
+	}
+
+	private static final class Entries {
+		final AccessibleObject[] members;
+		final boolean[]          accessible;
+		final Object[]           values;
+
+		Entries(AccessibleObject[] members, boolean[] accessible, Object[] values) {
+			this.members = members;
+			this.accessible = accessible;
+			this.values = values;
+		}
+	}
+
+}
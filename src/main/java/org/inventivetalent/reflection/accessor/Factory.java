@@ -0,0 +1,316 @@
+package org.inventivetalent.reflection.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates instances through a resolved {@link Constructor} without going through
+ * {@link Constructor#newInstance(Object...)} on every call.
+ * <p>
+ * Public constructors of public classes with up to 2 parameters are called through a class generated for the
+ * constructor, see {@link InvokerGenerator}. Other constructors are turned into a {@link MethodHandle} once. Factories are cached per
+ * constructor &amp; thread-safe. The exact-arity entry points ({@link #create()} to
+ * {@link #create(Object, Object, Object)}) never allocate an argument array. When no handle can be created, the
+ * factory falls back to core reflection.
+ *
+ * @param <T> type of the created instances
+ */
+public abstract class Factory<T> {
+
+	private static final ClassValue<AccessorTable<Factory<?>>> factories = new ClassValue<AccessorTable<Factory<?>>>() {
+		@Override
+		protected AccessorTable<Factory<?>> computeValue(Class<?> type) {
+			return new AccessorTable<>();
+		}
+	};
+
+	protected final Constructor<T> constructor;
+	protected final int            arity;
+
+	Factory(Constructor<T> constructor) {
+		this.constructor = constructor;
+		this.arity = constructor.getParameterTypes().length;
+	}
+
+	/**
+	 * Returns the (cached) factory of a constructor
+	 *
+	 * @param constructor the constructor to call
+	 * @param <T>         type of the created instances
+	 * @return the factory
+	 */
+	public static <T> Factory<T> of(Constructor<T> constructor) {
+		if (constructor == null) { throw new IllegalArgumentException("constructor cannot be null"); }
+		AccessorTable<Factory<?>> table = factories.get(constructor.getDeclaringClass());
+		Factory<T> factory = (Factory<T>) table.get(constructor);
+		if (factory == null) {
+			if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {// Fails like Constructor#newInstance
+				return (Factory<T>) table.add(constructor, new ReflectiveFactory<>(constructor));
+			}
+			Object function = InvokerGenerator.generate(constructor);
+			if (function != null) {
+				return (Factory<T>) table.add(constructor, new GeneratedFactory<>(constructor, function));
+			}
+			try {
+				factory = (Factory<T>) table.add(constructor, new HandleFactory<>(constructor));
+			} catch (IllegalAccessException e) {
+				// Not cached: the constructor may be made accessible later on
+				return new ReflectiveFactory<>(constructor);
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * Returns a factory backed by core reflection only
+	 *
+	 * @param constructor the constructor to call
+	 * @param <T>         type of the created instances
+	 * @return the factory
+	 */
+	public static <T> Factory<T> reflective(Constructor<T> constructor) {
+		if (constructor == null) { throw new IllegalArgumentException("constructor cannot be null"); }
+		return new ReflectiveFactory<>(constructor);
+	}
+
+	public Constructor<T> getConstructor() {
+		return constructor;
+	}
+
+	/**
+	 * @return the number of parameters of the constructor
+	 */
+	public int getArity() {
+		return arity;
+	}
+
+	/**
+	 * @return <code>true</code> if calls go through a generated class or a {@link MethodHandle}, <code>false</code> if they fall back to core reflection
+	 */
+	public abstract boolean isDirect();
+
+	/**
+	 * Creates an instance
+	 *
+	 * @param args the arguments
+	 * @return the new instance
+	 * @throws InvocationTargetException if the constructor throws an exception
+	 * @throws InstantiationException    if the class is abstract
+	 * @throws IllegalAccessException    if the constructor is not accessible
+	 * @throws IllegalArgumentException  if the number or the types of the arguments are wrong
+	 */
+	public abstract T newInstance(Object... args) throws InvocationTargetException, InstantiationException, IllegalAccessException;
+
+	public T create() throws InvocationTargetException, InstantiationException, IllegalAccessException {
+		return newInstance(new Object[0]);
+	}
+
+	public T create(Object a) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+		return newInstance(new Object[] { a });
+	}
+
+	public T create(Object a, Object b) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+		return newInstance(new Object[] {
+				a,
+				b });
+	}
+
+	public T create(Object a, Object b, Object c) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+		return newInstance(new Object[] {
+				a,
+				b,
+				c });
+	}
+
+	IllegalArgumentException wrongArity(int given) {
+		return new IllegalArgumentException("wrong number of arguments: " + given + " given, " + constructor + " expects " + arity);
+	}
+
+	/**
+	 * Maps a throwable of a direct call to what {@link Constructor#newInstance(Object...)} throws: wrong arguments fail
+	 * like a reflective call, anything else was thrown by the constructor
+	 */
+	InvocationTargetException failure(Throwable throwable, Object... args) {
+		if (throwable instanceof ClassCastException || throwable instanceof NullPointerException) {// Casts & unboxing at the call site
+			MethodInvoker.checkArguments(constructor.getParameterTypes(), args);
+		}
+		return new InvocationTargetException(throwable);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" + constructor + "}";
+	}
+
+	/**
+	 * Factory backed by a generated class
+	 */
+	static final class GeneratedFactory<T> extends Factory<T> {
+
+		private final    Object           function;
+		private volatile HandleFactory<T> converting;// Created for the first argument the generated class can't convert
+
+		GeneratedFactory(Constructor<T> constructor, Object function) {
+			super(constructor);
+			this.function = function;
+		}
+
+		@Override
+		public boolean isDirect() {
+			return true;
+		}
+
+		@Override
+		public T newInstance(Object... args) throws InvocationTargetException, IllegalAccessException {
+			int length = args == null ? 0 : args.length;
+			if (length != arity) { throw wrongArity(length); }
+			switch (length) {
+				case 0:
+					return create();
+				case 1:
+					return create(args[0]);
+				default:
+					return create(args[0], args[1]);
+			}
+		}
+
+		@Override
+		public T create() throws InvocationTargetException {
+			if (arity != 0) { throw wrongArity(0); }
+			try {
+				return ((Supplier<T>) function).get();
+			} catch (Throwable throwable) {
+				throw failure(throwable);
+			}
+		}
+
+		@Override
+		public T create(Object a) throws InvocationTargetException, IllegalAccessException {
+			if (arity != 1) { throw wrongArity(1); }
+			try {
+				return ((Function<Object, T>) function).apply(a);
+			} catch (Throwable throwable) {
+				return convert(throwable, a);
+			}
+		}
+
+		@Override
+		public T create(Object a, Object b) throws InvocationTargetException, IllegalAccessException {
+			if (arity != 2) { throw wrongArity(2); }
+			try {
+				return ((BiFunction<Object, Object, T>) function).apply(a, b);
+			} catch (Throwable throwable) {
+				return convert(throwable, a, b);
+			}
+		}
+
+		// The generated class casts to the exact wrapper before the call, a handle widens primitives like Constructor#newInstance
+		private T convert(Throwable throwable, Object... args) throws InvocationTargetException, IllegalAccessException {
+			if (throwable instanceof ClassCastException && MethodInvoker.needsConversion(constructor.getParameterTypes(), args)) {
+				HandleFactory<T> converting = this.converting;
+				if (converting == null) { this.converting = converting = new HandleFactory<>(constructor); }
+				return converting.newInstance(args);
+			}
+			throw failure(throwable, args);
+		}
+	}
+
+	/**
+	 * {@link MethodHandle} backed factory
+	 */
+	static final class HandleFactory<T> extends Factory<T> {
+
+		private final MethodHandle handle;// (Object... x arity)Object
+		private final MethodHandle spreader;// (Object[] args)Object
+
+		HandleFactory(Constructor<T> constructor) throws IllegalAccessException {
+			super(constructor);
+			this.handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.genericMethodType(arity));
+			this.spreader = this.handle.asSpreader(Object[].class, arity);
+		}
+
+		@Override
+		public boolean isDirect() {
+			return true;
+		}
+
+		@Override
+		public T newInstance(Object... args) throws InvocationTargetException {
+			int length = args == null ? 0 : args.length;
+			if (length != arity) { throw wrongArity(length); }
+			try {
+				return (T) spreader.invokeExact(args);
+			} catch (Throwable throwable) {
+				throw failure(throwable, args);
+			}
+		}
+
+		@Override
+		public T create() throws InvocationTargetException {
+			if (arity != 0) { throw wrongArity(0); }
+			try {
+				return (T) handle.invokeExact();
+			} catch (Throwable throwable) {
+				throw failure(throwable);
+			}
+		}
+
+		@Override
+		public T create(Object a) throws InvocationTargetException {
+			if (arity != 1) { throw wrongArity(1); }
+			try {
+				return (T) handle.invokeExact(a);
+			} catch (Throwable throwable) {
+				throw failure(throwable, a);
+			}
+		}
+
+		@Override
+		public T create(Object a, Object b) throws InvocationTargetException {
+			if (arity != 2) { throw wrongArity(2); }
+			try {
+				return (T) handle.invokeExact(a, b);
+			} catch (Throwable throwable) {
+				throw failure(throwable, a, b);
+			}
+		}
+
+		@Override
+		public T create(Object a, Object b, Object c) throws InvocationTargetException {
+			if (arity != 3) { throw wrongArity(3); }
+			try {
+				return (T) handle.invokeExact(a, b, c);
+			} catch (Throwable throwable) {
+				throw failure(throwable, a, b, c);
+			}
+		}
+	}
+
+	/**
+	 * Core reflection fallback
+	 */
+	static final class ReflectiveFactory<T> extends Factory<T> {
+
+		ReflectiveFactory(Constructor<T> constructor) {
+			super(constructor);
+		}
+
+		@Override
+		public boolean isDirect() {
+			return false;
+		}
+
+		@Override
+		public T newInstance(Object... args) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+			return constructor.newInstance(args);
+		}
+	}
+
+}
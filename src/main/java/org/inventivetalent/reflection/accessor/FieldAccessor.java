@@ -0,0 +1,369 @@
+package org.inventivetalent.reflection.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Typed accessor of a resolved {@link Field}.
+ * <p>
+ * The field is turned into getter &amp; setter {@link MethodHandle}s once and cached per field. The typed methods
+ * (e.g. {@link #getInt(Object)}, {@link #setInt(Object, int)}) call the handles with their exact type, so primitive
+ * fields are never boxed. Other types are widened (or rejected) by core reflection, like
+ * {@link Field#getInt(Object)} does. Hand out the accessor through one of the functional interfaces
+ * (e.g. {@link IntGetter}, {@link ObjIntSetter}) to keep the call sites monomorphic.
+ * <p>
+ * When no handle can be created (e.g. a <code>static final</code> field on newer JVMs), the accessor falls back to
+ * core reflection.
+ *
+ * @param <T> field type
+ */
+public final class FieldAccessor<T> implements ObjectGetter<T>, ObjectSetter<T>,
+		BooleanGetter, ObjBooleanSetter,
+		ByteGetter, ObjByteSetter,
+		CharGetter, ObjCharSetter,
+		ShortGetter, ObjShortSetter,
+		IntGetter, ObjIntSetter,
+		LongGetter, ObjLongSetter,
+		FloatGetter, ObjFloatSetter,
+		DoubleGetter, ObjDoubleSetter {
+
+	private static final ClassValue<AccessorTable<FieldAccessor>> accessors = new ClassValue<AccessorTable<FieldAccessor>>() {
+		@Override
+		protected AccessorTable<FieldAccessor> computeValue(Class<?> type) {
+			return new AccessorTable<>();
+		}
+	};
+
+	private final Field    field;
+	private final Class<?> type;
+	private final boolean  direct;
+
+	private final MethodHandle getter;// (Object target)type
+	private final MethodHandle setter;// (Object target, type value)void
+	private final MethodHandle objectGetter;// (Object target)Object
+	private final MethodHandle objectSetter;// (Object target, Object value)void
+
+	private FieldAccessor(Field field) {
+		this.field = field;
+		this.type = field.getType();
+
+		boolean isStatic = Modifier.isStatic(field.getModifiers());
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle getter;
+		MethodHandle setter;
+		boolean direct = true;
+		try {
+			getter = lookup.unreflectGetter(field);
+			if (isStatic) { getter = MethodHandles.dropArguments(getter, 0, Object.class); }
+		} catch (IllegalAccessException e) {
+			getter = reflectiveHandle(lookup, "get", MethodType.methodType(Object.class, Object.class));
+			direct = false;
+		}
+		try {
+			setter = lookup.unreflectSetter(field);
+			if (isStatic) { setter = MethodHandles.dropArguments(setter, 0, Object.class); }
+		} catch (IllegalAccessException e) {
+			setter = reflectiveHandle(lookup, "set", MethodType.methodType(void.class, Object.class, Object.class));
+			direct = false;
+		}
+		this.direct = direct;
+
+		this.getter = getter.asType(MethodType.methodType(this.type, Object.class));
+		this.setter = setter.asType(MethodType.methodType(void.class, Object.class, this.type));
+		this.objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+		this.objectSetter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+	}
+
+	/**
+	 * Returns the (cached) accessor of a field
+	 *
+	 * @param field the field to access
+	 * @param <T>   field type
+	 * @return the accessor
+	 */
+	public static <T> FieldAccessor<T> of(Field field) {
+		if (field == null) { throw new IllegalArgumentException("field cannot be null"); }
+		AccessorTable<FieldAccessor> table = accessors.get(field.getDeclaringClass());
+		FieldAccessor accessor = table.get(field);
+		if (accessor == null) {
+			accessor = new FieldAccessor<>(field);
+			// Fallback accessors are not cached: the field may be made accessible later on
+			if (accessor.direct || field.isAccessible()) { accessor = table.add(field, accessor); }
+		}
+		return accessor;
+	}
+
+	public Field getField() {
+		return field;
+	}
+
+	public String getName() {
+		return field.getName();
+	}
+
+	/**
+	 * @return the type of the field
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * @return <code>true</code> if reads &amp; writes go through {@link MethodHandle}s only, <code>false</code> if one of them falls back to core reflection
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+
+	@Override
+	public T get(Object target) {
+		try {
+			return (T) this.objectGetter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void set(Object target, T value) {
+		try {
+			this.objectSetter.invokeExact(target, (Object) value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target, value);
+		}
+	}
+
+	@Override
+	public boolean getBoolean(Object target) {
+		try {
+			if (this.type != boolean.class) { return this.field.getBoolean(target); }
+			return (boolean) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setBoolean(Object target, boolean value) {
+		try {
+			if (this.type != boolean.class) {
+				this.field.setBoolean(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public byte getByte(Object target) {
+		try {
+			if (this.type != byte.class) { return this.field.getByte(target); }
+			return (byte) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setByte(Object target, byte value) {
+		try {
+			if (this.type != byte.class) {
+				this.field.setByte(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public char getChar(Object target) {
+		try {
+			if (this.type != char.class) { return this.field.getChar(target); }
+			return (char) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setChar(Object target, char value) {
+		try {
+			if (this.type != char.class) {
+				this.field.setChar(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public short getShort(Object target) {
+		try {
+			if (this.type != short.class) { return this.field.getShort(target); }
+			return (short) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setShort(Object target, short value) {
+		try {
+			if (this.type != short.class) {
+				this.field.setShort(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public int getInt(Object target) {
+		try {
+			if (this.type != int.class) { return this.field.getInt(target); }
+			return (int) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setInt(Object target, int value) {
+		try {
+			if (this.type != int.class) {
+				this.field.setInt(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public long getLong(Object target) {
+		try {
+			if (this.type != long.class) { return this.field.getLong(target); }
+			return (long) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setLong(Object target, long value) {
+		try {
+			if (this.type != long.class) {
+				this.field.setLong(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public float getFloat(Object target) {
+		try {
+			if (this.type != float.class) { return this.field.getFloat(target); }
+			return (float) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setFloat(Object target, float value) {
+		try {
+			if (this.type != float.class) {
+				this.field.setFloat(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public double getDouble(Object target) {
+		try {
+			if (this.type != double.class) { return this.field.getDouble(target); }
+			return (double) this.getter.invokeExact(target);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	@Override
+	public void setDouble(Object target, double value) {
+		try {
+			if (this.type != double.class) {
+				this.field.setDouble(target, value);
+				return;
+			}
+			this.setter.invokeExact(target, value);
+		} catch (Throwable throwable) {
+			throw failure(throwable, target);
+		}
+	}
+
+	private MethodHandle reflectiveHandle(MethodHandles.Lookup lookup, String name, MethodType type) {
+		try {
+			return lookup.findVirtual(Field.class, name, type).bindTo(this.field);
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	// Maps a throwable of a handle call to what core reflection throws: a missing or wrong target fails like Field#get
+	private RuntimeException failure(Throwable throwable, Object target) {
+		if (throwable instanceof ClassCastException || throwable instanceof NullPointerException) {// Casts at the call site
+			checkTarget(target);
+		}
+		return rethrow(throwable);
+	}
+
+	// Same as failure(Throwable, Object), and a value of the wrong type fails like Field#set
+	private RuntimeException failure(Throwable throwable, Object target, Object value) {
+		if (throwable instanceof ClassCastException || throwable instanceof NullPointerException) {// Casts & unboxing at the call site
+			checkTarget(target);
+			if (!MethodInvoker.isAssignable(this.type, value)) {
+				throw new IllegalArgumentException("Can not set " + this.field + " to " + (value == null ? "null value" : value.getClass().getName()));
+			}
+		}
+		return rethrow(throwable);
+	}
+
+	private void checkTarget(Object target) {
+		if (Modifier.isStatic(this.field.getModifiers())) { return; }
+		if (target == null) { throw new NullPointerException("target cannot be null for " + this.field); }
+		if (!this.field.getDeclaringClass().isInstance(target)) {
+			throw new IllegalArgumentException("Can not access " + this.field + " on " + target.getClass().getName());
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable throwable) {
+		if (throwable instanceof RuntimeException) { return (RuntimeException) throwable; }
+		if (throwable instanceof Error) { throw (Error) throwable; }
+		return new RuntimeException(throwable);
+	}
+
+	@Override
+	public String toString() {
+		return "FieldAccessor{" + field + "}";
+	}
+
+}
@@ -0,0 +1,238 @@
+package org.inventivetalent.reflection.accessor;
+
+import org.inventivetalent.reflection.resolver.MemberIndex;
+import org.inventivetalent.reflection.resolver.ResolverAbstract;
+import org.inventivetalent.reflection.util.AccessUtil;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copies the fields of an object to another object of the same class, through a plan compiled once per class.
+ * <p>
+ * The plan holds the {@link FieldAccessor} of every copied field &amp; its primitive kind, so a copy is a sequence of
+ * typed reads &amp; writes: no lookup, no {@link Field#setAccessible(boolean)}, no boxing. The classes of both objects
+ * are checked once per copy. Volatile fields are read &amp; written with volatile semantics.
+ * <p>
+ * The copier of all the instance fields of a class is cached per class, copiers of a subset of the fields are cached
+ * in it by field names.
+ * <p>
+ * A shallow copy shares the referenced objects. A deep copy clones the arrays (recursively for arrays of arrays),
+ * other objects are still shared.
+ */
+public final class FieldCopier {
+
+	private static final ClassValue<FieldCopier> copiers = new ClassValue<FieldCopier>() {
+		@Override
+		protected FieldCopier computeValue(Class<?> type) {
+			List<Field> fields = new ArrayList<>();
+			for (Field field : MemberIndex.of(type).fields()) {
+				if (!Modifier.isStatic(field.getModifiers())) { fields.add(field); }
+			}
+			return new FieldCopier(type, fields.toArray(new Field[fields.size()]), false);
+		}
+	};
+
+	static final int OBJECT  = 0;
+	static final int BOOLEAN = 1;
+	static final int BYTE    = 2;
+	static final int CHAR    = 3;
+	static final int SHORT   = 4;
+	static final int INT     = 5;
+	static final int LONG    = 6;
+	static final int FLOAT   = 7;
+	static final int DOUBLE  = 8;
+	static final int ARRAY   = 9;// Object kind, cloned by deep copies
+
+	private final Class<?>        clazz;
+	private final Field[]         fields;
+	private final FieldAccessor[] accessors;
+	private final int[]           kinds;
+	private final boolean         deep;
+
+	private volatile FieldCopier                     other;// Same fields, other depth
+	private final    Map<List<String>, FieldCopier> subsets;// Only used by the copier of all the fields
+
+	private FieldCopier(Class<?> clazz, Field[] fields, boolean deep) {
+		this.clazz = clazz;
+		this.fields = fields;
+		this.accessors = new FieldAccessor[fields.length];
+		this.kinds = new int[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			AccessUtil.setAccessibleSilent(fields[i]);
+			this.accessors[i] = FieldAccessor.of(fields[i]);
+			this.kinds[i] = kind(fields[i].getType());
+		}
+		this.deep = deep;
+		this.subsets = new ConcurrentHashMap<>();
+	}
+
+	private FieldCopier(FieldCopier copier, boolean deep) {
+		this.clazz = copier.clazz;
+		this.fields = copier.fields;
+		this.accessors = copier.accessors;
+		this.kinds = copier.kinds;
+		this.deep = deep;
+		this.subsets = copier.subsets;
+		this.other = copier;
+	}
+
+	/**
+	 * @param clazz the class to copy
+	 * @return the (cached) shallow copier of all the instance fields declared by the class
+	 */
+	public static FieldCopier of(Class<?> clazz) {
+		if (clazz == null) { throw new IllegalArgumentException("class cannot be null"); }
+		return copiers.get(clazz);
+	}
+
+	/**
+	 * @param clazz      the class to copy
+	 * @param fieldNames names of the fields to copy, declared by the class
+	 * @return the (cached) shallow copier of these fields
+	 * @throws NoSuchFieldException if a field is not declared by the class
+	 */
+	public static FieldCopier of(Class<?> clazz, String... fieldNames) throws NoSuchFieldException {
+		FieldCopier all = of(clazz);
+		FieldCopier copier = all.subsets.get(Arrays.asList(fieldNames));
+		if (copier == null) {
+			MemberIndex index = MemberIndex.of(clazz);
+			Field[] fields = new Field[fieldNames.length];
+			for (int i = 0; i < fieldNames.length; i++) {
+				fields[i] = index.field(fieldNames[i]);
+				if (fields[i] == null) { throw new NoSuchFieldException("Could not resolve field for " + fieldNames[i] + " in class " + clazz); }
+			}
+			copier = new FieldCopier(clazz, fields, false);
+			if (all.subsets.size() >= ResolverAbstract.MAX_CACHED_QUERIES) { all.subsets.clear(); }
+			all.subsets.put(new ArrayList<>(Arrays.asList(fieldNames)), copier);
+		}
+		return copier;
+	}
+
+	/**
+	 * @return a copier of the same fields which clones arrays
+	 */
+	public FieldCopier deep() {
+		return deep ? this : other();
+	}
+
+	/**
+	 * @return a copier of the same fields which shares arrays
+	 */
+	public FieldCopier shallow() {
+		return deep ? other() : this;
+	}
+
+	public boolean isDeep() {
+		return deep;
+	}
+
+	public Class<?> getCopiedClass() {
+		return clazz;
+	}
+
+	/**
+	 * @return the copied fields, in copy order
+	 */
+	public List<Field> getFields() {
+		return Collections.unmodifiableList(Arrays.asList(fields));
+	}
+
+	/**
+	 * Copies the fields
+	 *
+	 * @param from the object to copy the fields from
+	 * @param to   the object to copy the fields to
+	 */
+	public void copy(Object from, Object to) {
+		if (from == null || to == null) { throw new IllegalArgumentException("from and to cannot be null"); }
+		if (!clazz.isInstance(from) || !clazz.isInstance(to)) { throw new IllegalArgumentException("Cannot copy the fields of " + clazz.getName() + " from " + from.getClass().getName() + " to " + to.getClass().getName()); }
+		FieldAccessor[] accessors = this.accessors;
+		int[] kinds = this.kinds;
+		for (int i = 0; i < accessors.length; i++) {
+			FieldAccessor accessor = accessors[i];
+			switch (kinds[i]) {
+				case BOOLEAN:
+					accessor.setBoolean(to, accessor.getBoolean(from));
+					break;
+				case BYTE:
+					accessor.setByte(to, accessor.getByte(from));
+					break;
+				case CHAR:
+					accessor.setChar(to, accessor.getChar(from));
+					break;
+				case SHORT:
+					accessor.setShort(to, accessor.getShort(from));
+					break;
+				case INT:
+					accessor.setInt(to, accessor.getInt(from));
+					break;
+				case LONG:
+					accessor.setLong(to, accessor.getLong(from));
+					break;
+				case FLOAT:
+					accessor.setFloat(to, accessor.getFloat(from));
+					break;
+				case DOUBLE:
+					accessor.setDouble(to, accessor.getDouble(from));
+					break;
+				case ARRAY:
+					accessor.set(to, deep ? cloneArray(accessor.get(from)) : accessor.get(from));
+					break;
+				default:
+					accessor.set(to, accessor.get(from));
+			}
+		}
+	}
+
+	private FieldCopier other() {
+		FieldCopier other = this.other;
+		if (other == null) {
+			this.other = other = new FieldCopier(this, !deep);
+		}
+		return other;
+	}
+
+	static Object cloneArray(Object array) {
+		if (array == null) { return null; }
+		Class<?> componentType = array.getClass().getComponentType();
+		if (componentType.isPrimitive()) {
+			int length = Array.getLength(array);
+			Object clone = Array.newInstance(componentType, length);
+			System.arraycopy(array, 0, clone, 0, length);
+			return clone;
+		}
+		Object[] clone = ((Object[]) array).clone();
+		if (componentType.isArray() || componentType == Object.class) {
+			for (int i = 0; i < clone.length; i++) {
+				if (clone[i] != null && clone[i].getClass().isArray()) { clone[i] = cloneArray(clone[i]); }
+			}
+		}
+		return clone;
+	}
+
+	static int kind(Class<?> type) {
+		if (!type.isPrimitive()) { return type.isArray() ? ARRAY : OBJECT; }
+		if (type == boolean.class) { return BOOLEAN; }
+		if (type == byte.class) { return BYTE; }
+		if (type == char.class) { return CHAR; }
+		if (type == short.class) { return SHORT; }
+		if (type == int.class) { return INT; }
+		if (type == long.class) { return LONG; }
+		if (type == float.class) { return FLOAT; }
+		return DOUBLE;
+	}
+
+	@Override
+	public String toString() {
+		return "FieldCopier{" + clazz.getName() + (deep ? ", deep" : "") + ", " + fields.length + " fields}";
+	}
+
+}
@@ -0,0 +1,355 @@
+package org.inventivetalent.reflection.accessor;
+
+import org.inventivetalent.reflection.resolver.MemberIndex;
+import org.inventivetalent.reflection.util.AccessUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.inventivetalent.reflection.accessor.FieldCopier.ARRAY;
+import static org.inventivetalent.reflection.accessor.FieldCopier.BOOLEAN;
+import static org.inventivetalent.reflection.accessor.FieldCopier.BYTE;
+import static org.inventivetalent.reflection.accessor.FieldCopier.CHAR;
+import static org.inventivetalent.reflection.accessor.FieldCopier.DOUBLE;
+import static org.inventivetalent.reflection.accessor.FieldCopier.FLOAT;
+import static org.inventivetalent.reflection.accessor.FieldCopier.INT;
+import static org.inventivetalent.reflection.accessor.FieldCopier.LONG;
+import static org.inventivetalent.reflection.accessor.FieldCopier.OBJECT;
+import static org.inventivetalent.reflection.accessor.FieldCopier.SHORT;
+import static org.inventivetalent.reflection.accessor.FieldCopier.kind;
+
+/**
+ * Flat layout of the instance fields of a class &amp; its superclasses, compiled once per class, to dump the state of
+ * an object into a {@link Snapshot} and apply it back.
+ * <p>
+ * A snapshot stores the primitive fields as raw bits in a <code>long[]</code> and the other fields in an
+ * <code>Object[]</code>, so taking a snapshot into an existing one doesn't allocate. Fields are read &amp; written
+ * through the typed methods of their {@link FieldAccessor}s, so volatile fields keep their semantics.
+ * <p>
+ * Two snapshots can be diffed to only apply the fields that changed: primitive fields are compared by their bits,
+ * other fields by identity.
+ */
+public final class FieldLayout {
+
+	private static final ClassValue<FieldLayout> layouts = new ClassValue<FieldLayout>() {
+		@Override
+		protected FieldLayout computeValue(Class<?> type) {
+			return new FieldLayout(type);
+		}
+	};
+
+	private final Class<?>        clazz;
+	private final Field[]         fields;// Superclass fields first
+	private final FieldAccessor[] accessors;
+	private final int[]           kinds;
+	private final int[]           slots;// Index in the primitives or references of a snapshot
+	private final int             primitiveCount;
+	private final int             referenceCount;
+
+	private FieldLayout(Class<?> clazz) {
+		this.clazz = clazz;
+		List<Class<?>> hierarchy = new ArrayList<>();
+		for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+			hierarchy.add(0, type);
+		}
+		List<Field> fields = new ArrayList<>();
+		for (Class<?> type : hierarchy) {
+			for (Field field : MemberIndex.of(type).fields()) {
+				if (!Modifier.isStatic(field.getModifiers())) { fields.add(field); }
+			}
+		}
+		this.fields = fields.toArray(new Field[fields.size()]);
+		this.accessors = new FieldAccessor[this.fields.length];
+		this.kinds = new int[this.fields.length];
+		this.slots = new int[this.fields.length];
+		int primitives = 0;
+		int references = 0;
+		for (int i = 0; i < this.fields.length; i++) {
+			Field field = this.fields[i];
+			AccessUtil.setAccessibleSilent(field);
+			this.accessors[i] = FieldAccessor.of(field);
+			this.kinds[i] = kind(field.getType());
+			this.slots[i] = field.getType().isPrimitive() ? primitives++ : references++;
+		}
+		this.primitiveCount = primitives;
+		this.referenceCount = references;
+	}
+
+	/**
+	 * @param clazz the class of the objects
+	 * @return the (cached) layout of the class
+	 */
+	public static FieldLayout of(Class<?> clazz) {
+		if (clazz == null) { throw new IllegalArgumentException("class cannot be null"); }
+		return layouts.get(clazz);
+	}
+
+	public Class<?> getLayoutClass() {
+		return clazz;
+	}
+
+	/**
+	 * @return the fields of the layout, superclass fields first, in declaration order
+	 */
+	public List<Field> getFields() {
+		return Collections.unmodifiableList(Arrays.asList(fields));
+	}
+
+	/**
+	 * @return the number of fields
+	 */
+	public int size() {
+		return fields.length;
+	}
+
+	/**
+	 * @return a new empty snapshot, to be filled by {@link #snapshot(Object, Snapshot)}
+	 */
+	public Snapshot newSnapshot() {
+		return new Snapshot(this);
+	}
+
+	/**
+	 * @param object the object to read
+	 * @return a new snapshot of the fields of the object
+	 */
+	public Snapshot snapshot(Object object) {
+		return snapshot(object, newSnapshot());
+	}
+
+	/**
+	 * Reads the fields of an object into an existing snapshot
+	 *
+	 * @param object   the object to read
+	 * @param snapshot snapshot of this layout, overwritten
+	 * @return the snapshot
+	 */
+	public Snapshot snapshot(Object object, Snapshot snapshot) {
+		check(object, snapshot);
+		long[] primitives = snapshot.primitives;
+		Object[] references = snapshot.references;
+		for (int i = 0; i < fields.length; i++) {
+			if (kinds[i] == OBJECT || kinds[i] == ARRAY) {
+				references[slots[i]] = accessors[i].get(object);
+			} else {
+				primitives[slots[i]] = read(i, object);
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Writes all the fields of a snapshot to an object
+	 *
+	 * @param snapshot snapshot of this layout
+	 * @param object   the object to write
+	 */
+	public void apply(Snapshot snapshot, Object object) {
+		check(object, snapshot);
+		for (int i = 0; i < fields.length; i++) {
+			write(i, snapshot, object);
+		}
+	}
+
+	/**
+	 * Writes the fields of a snapshot that differ from another snapshot, e.g. the snapshot the object was last
+	 * synchronized with
+	 *
+	 * @param snapshot snapshot of this layout
+	 * @param base     snapshot of this layout to compare with
+	 * @param object   the object to write
+	 * @return the number of written fields
+	 */
+	public int applyChanges(Snapshot snapshot, Snapshot base, Object object) {
+		check(object, snapshot);
+		check(base);
+		int written = 0;
+		for (int i = 0; i < fields.length; i++) {
+			if (changed(i, snapshot, base)) {
+				write(i, snapshot, object);
+				written++;
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * @param a snapshot of this layout
+	 * @param b snapshot of this layout
+	 * @return the indexes (in {@link #getFields()}) of the fields that differ
+	 */
+	public BitSet diff(Snapshot a, Snapshot b) {
+		check(a);
+		check(b);
+		BitSet changed = new BitSet(fields.length);
+		for (int i = 0; i < fields.length; i++) {
+			if (changed(i, a, b)) { changed.set(i); }
+		}
+		return changed;
+	}
+
+	/**
+	 * @param snapshot snapshot of this layout
+	 * @return the (boxed) values of the snapshot by field name, names of shadowed fields are prefixed by the simple name of their declaring class
+	 */
+	public Map<String, Object> toMap(Snapshot snapshot) {
+		check(snapshot);
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (int i = fields.length - 1; i >= 0; i--) {// Subclass fields first, to keep the plain names
+			String name = fields[i].getName();
+			if (map.containsKey(name)) { name = fields[i].getDeclaringClass().getSimpleName() + "." + name; }
+			map.put(name, snapshot.get(i));
+		}
+		return map;
+	}
+
+	private boolean changed(int i, Snapshot a, Snapshot b) {
+		int slot = slots[i];
+		if (kinds[i] == OBJECT || kinds[i] == ARRAY) { return a.references[slot] != b.references[slot]; }
+		return a.primitives[slot] != b.primitives[slot];
+	}
+
+	// Raw bits of a primitive field
+	private long read(int i, Object object) {
+		FieldAccessor accessor = accessors[i];
+		switch (kinds[i]) {
+			case BOOLEAN:
+				return accessor.getBoolean(object) ? 1 : 0;
+			case BYTE:
+				return accessor.getByte(object);
+			case CHAR:
+				return accessor.getChar(object);
+			case SHORT:
+				return accessor.getShort(object);
+			case INT:
+				return accessor.getInt(object);
+			case LONG:
+				return accessor.getLong(object);
+			case FLOAT:
+				return Float.floatToRawIntBits(accessor.getFloat(object));
+			default:
+				return Double.doubleToRawLongBits(accessor.getDouble(object));
+		}
+	}
+
+	private void write(int i, Snapshot snapshot, Object object) {
+		int slot = slots[i];
+		if (kinds[i] == OBJECT || kinds[i] == ARRAY) {
+			accessors[i].set(object, snapshot.references[slot]);
+			return;
+		}
+		long bits = snapshot.primitives[slot];
+		FieldAccessor accessor = accessors[i];
+		switch (kinds[i]) {
+			case BOOLEAN:
+				accessor.setBoolean(object, bits != 0);
+				break;
+			case BYTE:
+				accessor.setByte(object, (byte) bits);
+				break;
+			case CHAR:
+				accessor.setChar(object, (char) bits);
+				break;
+			case SHORT:
+				accessor.setShort(object, (short) bits);
+				break;
+			case INT:
+				accessor.setInt(object, (int) bits);
+				break;
+			case LONG:
+				accessor.setLong(object, bits);
+				break;
+			case FLOAT:
+				accessor.setFloat(object, Float.intBitsToFloat((int) bits));
+				break;
+			default:
+				accessor.setDouble(object, Double.longBitsToDouble(bits));
+		}
+	}
+
+	private void check(Object object, Snapshot snapshot) {
+		if (!clazz.isInstance(object)) { throw new IllegalArgumentException("Object is not an instance of " + clazz.getName() + ": " + object); }
+		check(snapshot);
+	}
+
+	private void check(Snapshot snapshot) {
+		if (snapshot == null || snapshot.layout != this) { throw new IllegalArgumentException("Snapshot is not a snapshot of " + clazz.getName()); }
+	}
+
+	@Override
+	public String toString() {
+		return "FieldLayout{" + clazz.getName() + ", " + fields.length + " fields}";
+	}
+
+	/**
+	 * Values of the fields of an object, see {@link FieldLayout}
+	 */
+	public static final class Snapshot {
+
+		private final FieldLayout layout;
+		private final long[]      primitives;
+		private final Object[]    references;
+
+		Snapshot(FieldLayout layout) {
+			this.layout = layout;
+			this.primitives = new long[layout.primitiveCount];
+			this.references = new Object[layout.referenceCount];
+		}
+
+		public FieldLayout getLayout() {
+			return layout;
+		}
+
+		/**
+		 * @param index index of the field in {@link FieldLayout#getFields()}
+		 * @return the (boxed) value of the field
+		 */
+		public Object get(int index) {
+			int slot = layout.slots[index];
+			switch (layout.kinds[index]) {
+				case OBJECT:
+				case ARRAY:
+					return references[slot];
+				case BOOLEAN:
+					return primitives[slot] != 0;
+				case BYTE:
+					return (byte) primitives[slot];
+				case CHAR:
+					return (char) primitives[slot];
+				case SHORT:
+					return (short) primitives[slot];
+				case INT:
+					return (int) primitives[slot];
+				case LONG:
+					return primitives[slot];
+				case FLOAT:
+					return Float.intBitsToFloat((int) primitives[slot]);
+				default:
+					return Double.longBitsToDouble(primitives[slot]);
+			}
+		}
+
+		/**
+		 * @return a copy of this snapshot
+		 */
+		public Snapshot copy() {
+			Snapshot copy = new Snapshot(layout);
+			System.arraycopy(primitives, 0, copy.primitives, 0, primitives.length);
+			System.arraycopy(references, 0, copy.references, 0, references.length);
+			return copy;
+		}
+
+		@Override
+		public String toString() {
+			return layout.clazz.getSimpleName() + layout.toMap(this);
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Reads a <code>float</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface FloatGetter {
+
+	/**
+	 * @param target the object to read the field from (ignored for static fields)
+	 * @return the value of the field
+	 */
+	float getFloat(Object target);
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Reads a <code>int</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface IntGetter {
+
+	/**
+	 * @param target the object to read the field from (ignored for static fields)
+	 * @return the value of the field
+	 */
+	int getInt(Object target);
+
+}
@@ -0,0 +1,119 @@
+package org.inventivetalent.reflection.accessor;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Generates a small class per method or constructor, which calls it directly (<code>invokevirtual</code>,
+ * <code>invokestatic</code>, <code>new</code>...) instead of going through reflection or a {@link MethodHandle}.
+ * <p>
+ * The classes are spun by the {@link LambdaMetafactory} from the lookup of this class, so they obey the Java access
+ * rules: only public members of public classes, visible from the class loader of this library, are generated. Other
+ * members (even if they were made accessible) are left to the {@link MethodHandle} &amp; reflective paths, which check
+ * the access. The classes implement a {@link java.util.function} interface.
+ * <p>
+ * Only members with up to 2 parameters (receiver included) fit these interfaces. Generation can be turned off with
+ * the <code>org.inventivetalent.reflection.generatedInvokers</code> system property.
+ */
+final class InvokerGenerator {
+
+	/**
+	 * Highest number of parameters of a generated call, receiver included
+	 */
+	static final int MAX_PARAMETERS = 2;
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("org.inventivetalent.reflection.generatedInvokers", "true"));
+
+	private InvokerGenerator() {
+	}
+
+	/**
+	 * @param method method to call
+	 * @return a {@link Supplier}, {@link Function} or {@link BiFunction} calling the method ({@link Runnable},
+	 * {@link Consumer} or {@link BiConsumer} for void methods) with the receiver as first parameter, <code>null</code>
+	 * if the method can't be called through a generated class
+	 */
+	static Object generate(Method method) {
+		if (!ENABLED) { return null; }
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		int parameters = method.getParameterTypes().length + (isStatic ? 0 : 1);
+		if (parameters > MAX_PARAMETERS) { return null; }
+		if (!isPublic(method.getDeclaringClass(), method.getModifiers()) || !isVisible(method.getReturnType()) || !isVisible(method.getParameterTypes())) { return null; }
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			return spin(lookup, lookup.unreflect(method), parameters, method.getReturnType() == void.class);
+		} catch (Throwable throwable) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param constructor constructor to call
+	 * @return a {@link Supplier}, {@link Function} or {@link BiFunction} creating instances, <code>null</code> if the
+	 * constructor can't be called through a generated class
+	 */
+	static Object generate(Constructor<?> constructor) {
+		if (!ENABLED) { return null; }
+		int parameters = constructor.getParameterTypes().length;
+		if (parameters > MAX_PARAMETERS) { return null; }
+		if (!isPublic(constructor.getDeclaringClass(), constructor.getModifiers()) || !isVisible(constructor.getParameterTypes())) { return null; }
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			return spin(lookup, lookup.unreflectConstructor(constructor), parameters, false);
+		} catch (Throwable throwable) {
+			return null;
+		}
+	}
+
+	private static Object spin(MethodHandles.Lookup lookup, MethodHandle handle, int parameters, boolean isVoid) throws Throwable {
+		Class<?> type;
+		String name;
+		if (isVoid) {
+			type = parameters == 0 ? Runnable.class : parameters == 1 ? Consumer.class : BiConsumer.class;
+			name = parameters == 0 ? "run" : "accept";
+		} else {
+			type = parameters == 0 ? Supplier.class : parameters == 1 ? Function.class : BiFunction.class;
+			name = parameters == 0 ? "get" : "apply";
+		}
+		MethodType erased = MethodType.genericMethodType(parameters);
+		if (isVoid) { erased = erased.changeReturnType(void.class); }
+		MethodType instantiated = handle.type().wrap();
+		if (isVoid) { instantiated = instantiated.changeReturnType(void.class); }
+		return LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(type), erased, handle, instantiated).getTarget().invoke();
+	}
+
+	// The member must be accessible from anywhere, without setAccessible
+	private static boolean isPublic(Class<?> declaringClass, int modifiers) {
+		if (!Modifier.isPublic(modifiers)) { return false; }
+		for (Class<?> clazz = declaringClass; clazz != null; clazz = clazz.getDeclaringClass()) {
+			if (!Modifier.isPublic(clazz.getModifiers())) { return false; }
+		}
+		return isVisible(declaringClass);
+	}
+
+	private static boolean isVisible(Class<?>... types) {
+		for (Class<?> type : types) {
+			while (type.isArray()) { type = type.getComponentType(); }
+			if (type.isPrimitive()) { continue; }
+			if (type.getClassLoader() == null) { continue; }// Bootstrap classes are visible from every loader
+			try {
+				// The generated class links against the types through the class loader of this class
+				if (Class.forName(type.getName(), false, InvokerGenerator.class.getClassLoader()) != type) { return false; }
+			} catch (ClassNotFoundException | LinkageError e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Reads a <code>long</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface LongGetter {
+
+	/**
+	 * @param target the object to read the field from (ignored for static fields)
+	 * @return the value of the field
+	 */
+	long getLong(Object target);
+
+}
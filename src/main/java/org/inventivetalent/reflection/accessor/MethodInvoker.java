@@ -0,0 +1,455 @@
+package org.inventivetalent.reflection.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Invokes a resolved {@link Method} without going through {@link Method#invoke(Object, Object...)} on every call.
+ * <p>
+ * Public methods of public classes with up to 2 parameters (receiver included) are called through a class generated
+ * for the method, see {@link InvokerGenerator}. Other methods are turned into a {@link MethodHandle} once. Invokers are cached per
+ * method. The exact-arity entry points ({@link #invoke0(Object)} to
+ * {@link #invoke6(Object, Object, Object, Object, Object, Object, Object)}) call the generated class or the handle
+ * directly and never allocate an argument array. When no handle can be created (e.g. the method is not accessible),
+ * the invoker falls back to core reflection.
+ */
+public abstract class MethodInvoker {
+
+	/**
+	 * Highest arity with a dedicated entry point
+	 */
+	public static final int MAX_EXACT_ARITY = 6;
+
+	private static final ClassValue<AccessorTable<MethodInvoker>> invokers = new ClassValue<AccessorTable<MethodInvoker>>() {
+		@Override
+		protected AccessorTable<MethodInvoker> computeValue(Class<?> type) {
+			return new AccessorTable<>();
+		}
+	};
+
+	protected final Method method;
+	protected final int    arity;
+
+	MethodInvoker(Method method) {
+		this.method = method;
+		this.arity = method.getParameterTypes().length;
+	}
+
+	/**
+	 * Returns the (cached) invoker of a method
+	 *
+	 * @param method the method to invoke
+	 * @return the invoker
+	 */
+	public static MethodInvoker of(Method method) {
+		if (method == null) { throw new IllegalArgumentException("method cannot be null"); }
+		AccessorTable<MethodInvoker> table = invokers.get(method.getDeclaringClass());
+		MethodInvoker invoker = table.get(method);
+		if (invoker == null) {
+			Object function = InvokerGenerator.generate(method);
+			if (function != null) {
+				return table.add(method, new GeneratedInvoker(method, function));
+			}
+			try {
+				invoker = table.add(method, new HandleInvoker(method));
+			} catch (IllegalAccessException e) {
+				// Not cached: the method may be made accessible later on
+				return new ReflectiveInvoker(method);
+			}
+		}
+		return invoker;
+	}
+
+	/**
+	 * Returns an invoker backed by core reflection only
+	 *
+	 * @param method the method to invoke
+	 * @return the invoker
+	 */
+	public static MethodInvoker reflective(Method method) {
+		if (method == null) { throw new IllegalArgumentException("method cannot be null"); }
+		return new ReflectiveInvoker(method);
+	}
+
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return the number of parameters of the method
+	 */
+	public int getArity() {
+		return arity;
+	}
+
+	/**
+	 * @return <code>true</code> if calls go through a generated class or a {@link MethodHandle}, <code>false</code> if they fall back to core reflection
+	 */
+	public abstract boolean isDirect();
+
+	/**
+	 * Invokes the method
+	 *
+	 * @param target the object the method is invoked on (ignored for static methods)
+	 * @param args   the arguments
+	 * @return the result of the method, <code>null</code> for void methods
+	 * @throws InvocationTargetException if the method throws an exception
+	 * @throws IllegalAccessException    if the method is not accessible
+	 * @throws IllegalArgumentException  if the target is not an instance of the declaring class or the number or the types of the arguments are wrong
+	 * @throws NullPointerException      if the target is <code>null</code> and the method is not static
+	 */
+	public abstract Object invoke(Object target, Object... args) throws InvocationTargetException, IllegalAccessException;
+
+	public Object invoke0(Object target) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[0]);
+	}
+
+	public Object invoke1(Object target, Object a) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[] { a });
+	}
+
+	public Object invoke2(Object target, Object a, Object b) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[] {
+				a,
+				b });
+	}
+
+	public Object invoke3(Object target, Object a, Object b, Object c) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[] {
+				a,
+				b,
+				c });
+	}
+
+	public Object invoke4(Object target, Object a, Object b, Object c, Object d) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[] {
+				a,
+				b,
+				c,
+				d });
+	}
+
+	public Object invoke5(Object target, Object a, Object b, Object c, Object d, Object e) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[] {
+				a,
+				b,
+				c,
+				d,
+				e });
+	}
+
+	public Object invoke6(Object target, Object a, Object b, Object c, Object d, Object e, Object f) throws InvocationTargetException, IllegalAccessException {
+		return invoke(target, new Object[] {
+				a,
+				b,
+				c,
+				d,
+				e,
+				f });
+	}
+
+	IllegalArgumentException wrongArity(int given) {
+		return new IllegalArgumentException("wrong number of arguments: " + given + " given, " + method + " expects " + arity);
+	}
+
+	/**
+	 * Maps a throwable of a direct call to what {@link Method#invoke(Object, Object...)} throws: a missing or wrong
+	 * receiver &amp; wrong arguments fail like a reflective call, anything else was thrown by the method
+	 */
+	InvocationTargetException failure(Throwable throwable, Object target, Object... args) {
+		if (throwable instanceof ClassCastException || throwable instanceof NullPointerException) {// Casts & unboxing at the call site
+			if (!Modifier.isStatic(method.getModifiers())) {
+				if (target == null) { throw new NullPointerException("target cannot be null for " + method); }
+				if (!method.getDeclaringClass().isInstance(target)) { throw new IllegalArgumentException("object is not an instance of declaring class"); }
+			}
+			checkArguments(method.getParameterTypes(), args);
+		}
+		return new InvocationTargetException(throwable);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if an argument can't be passed to the parameter types (like {@link Method#invoke(Object, Object...)}, primitives may be widened)
+	 */
+	static void checkArguments(Class<?>[] types, Object[] args) {
+		for (int i = 0; i < types.length; i++) {
+			if (!isAssignable(types[i], args[i])) { throw new IllegalArgumentException("argument type mismatch"); }
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the value can be passed as the type by core reflection, primitives may be widened
+	 */
+	static boolean isAssignable(Class<?> type, Object value) {
+		if (value == null) { return !type.isPrimitive(); }
+		return type.isPrimitive() ? widens(unwrap(value), type) : type.isInstance(value);
+	}
+
+	/**
+	 * @return <code>true</code> if a primitive argument is boxed in another wrapper than its parameter, which the casts of a generated class reject
+	 */
+	static boolean needsConversion(Class<?>[] types, Object[] args) {
+		for (int i = 0; i < types.length; i++) {
+			if (types[i].isPrimitive() && args[i] != null && unwrap(args[i]) != types[i]) { return true; }
+		}
+		return false;
+	}
+
+	private static final Class<?>[] WIDENING = {
+			byte.class,
+			short.class,
+			int.class,
+			long.class,
+			float.class,
+			double.class };
+
+	// Widening primitive conversion (JLS 5.1.2), or identity
+	private static boolean widens(Class<?> from, Class<?> to) {
+		if (from == to) { return true; }
+		if (from == char.class) { return rank(to) >= rank(int.class); }
+		int rank = rank(from);
+		return rank >= 0 && rank < rank(to);
+	}
+
+	private static int rank(Class<?> type) {
+		for (int i = 0; i < WIDENING.length; i++) {
+			if (WIDENING[i] == type) { return i; }
+		}
+		return -1;
+	}
+
+	private static Class<?> unwrap(Object value) {
+		return MethodType.methodType(value.getClass()).unwrap().returnType();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" + method + "}";
+	}
+
+	/**
+	 * Invoker backed by a generated class, the receiver (if any) is the first parameter of the function
+	 */
+	static final class GeneratedInvoker extends MethodInvoker {
+
+		private final    Object        function;
+		private final    boolean       isStatic;
+		private final    boolean       isVoid;
+		private volatile HandleInvoker converting;// Created for the first argument the generated class can't convert
+
+		GeneratedInvoker(Method method, Object function) {
+			super(method);
+			this.function = function;
+			this.isStatic = Modifier.isStatic(method.getModifiers());
+			this.isVoid = method.getReturnType() == void.class;
+		}
+
+		@Override
+		public boolean isDirect() {
+			return true;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args) throws InvocationTargetException, IllegalAccessException {
+			int length = args == null ? 0 : args.length;
+			if (length != arity) { throw wrongArity(length); }
+			switch (length) {
+				case 0:
+					return invoke0(target);
+				case 1:
+					return invoke1(target, args[0]);
+				default:
+					return invoke2(target, args[0], args[1]);
+			}
+		}
+
+		@Override
+		public Object invoke0(Object target) throws InvocationTargetException, IllegalAccessException {
+			if (arity != 0) { throw wrongArity(0); }
+			return isStatic ? call(0, null, null) : call(1, target, null);
+		}
+
+		@Override
+		public Object invoke1(Object target, Object a) throws InvocationTargetException, IllegalAccessException {
+			if (arity != 1) { throw wrongArity(1); }
+			return isStatic ? call(1, a, null) : call(2, target, a);
+		}
+
+		@Override
+		public Object invoke2(Object target, Object a, Object b) throws InvocationTargetException, IllegalAccessException {
+			if (arity != 2) { throw wrongArity(2); }
+			return call(2, a, b);// Only static methods have 2 parameters besides the receiver
+		}
+
+		private Object call(int parameters, Object a, Object b) throws InvocationTargetException, IllegalAccessException {
+			try {
+				switch (parameters) {
+					case 0:
+						if (isVoid) {
+							((Runnable) function).run();
+							return null;
+						}
+						return ((Supplier) function).get();
+					case 1:
+						if (isVoid) {
+							((Consumer) function).accept(a);
+							return null;
+						}
+						return ((Function) function).apply(a);
+					default:
+						if (isVoid) {
+							((BiConsumer) function).accept(a, b);
+							return null;
+						}
+						return ((BiFunction) function).apply(a, b);
+				}
+			} catch (Throwable throwable) {
+				// a & b are the receiver & arguments, or the arguments of a static method
+				Object target = isStatic ? null : a;
+				Object[] args = isStatic ? Arrays.copyOf(new Object[] { a, b }, arity) : Arrays.copyOf(new Object[] { b }, arity);
+				if (throwable instanceof ClassCastException && needsConversion(method.getParameterTypes(), args)) {
+					// The generated class casts to the exact wrapper before the call, a handle widens primitives like Method#invoke
+					HandleInvoker converting = this.converting;
+					if (converting == null) { this.converting = converting = new HandleInvoker(method); }
+					return converting.invoke(target, args);
+				}
+				throw failure(throwable, target, args);
+			}
+		}
+	}
+
+	/**
+	 * {@link MethodHandle} backed invoker
+	 */
+	static final class HandleInvoker extends MethodInvoker {
+
+		private final MethodHandle handle;// (Object target, Object... x arity)Object
+		private final MethodHandle spreader;// (Object target, Object[] args)Object
+
+		HandleInvoker(Method method) throws IllegalAccessException {
+			super(method);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			this.handle = handle.asType(MethodType.genericMethodType(arity + 1));
+			this.spreader = this.handle.asSpreader(Object[].class, arity);
+		}
+
+		@Override
+		public boolean isDirect() {
+			return true;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args) throws InvocationTargetException {
+			int length = args == null ? 0 : args.length;
+			if (length != arity) { throw wrongArity(length); }
+			try {
+				return spreader.invokeExact(target, args);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, args);
+			}
+		}
+
+		@Override
+		public Object invoke0(Object target) throws InvocationTargetException {
+			if (arity != 0) { throw wrongArity(0); }
+			try {
+				return handle.invokeExact(target);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target);
+			}
+		}
+
+		@Override
+		public Object invoke1(Object target, Object a) throws InvocationTargetException {
+			if (arity != 1) { throw wrongArity(1); }
+			try {
+				return handle.invokeExact(target, a);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, a);
+			}
+		}
+
+		@Override
+		public Object invoke2(Object target, Object a, Object b) throws InvocationTargetException {
+			if (arity != 2) { throw wrongArity(2); }
+			try {
+				return handle.invokeExact(target, a, b);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, a, b);
+			}
+		}
+
+		@Override
+		public Object invoke3(Object target, Object a, Object b, Object c) throws InvocationTargetException {
+			if (arity != 3) { throw wrongArity(3); }
+			try {
+				return handle.invokeExact(target, a, b, c);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, a, b, c);
+			}
+		}
+
+		@Override
+		public Object invoke4(Object target, Object a, Object b, Object c, Object d) throws InvocationTargetException {
+			if (arity != 4) { throw wrongArity(4); }
+			try {
+				return handle.invokeExact(target, a, b, c, d);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, a, b, c, d);
+			}
+		}
+
+		@Override
+		public Object invoke5(Object target, Object a, Object b, Object c, Object d, Object e) throws InvocationTargetException {
+			if (arity != 5) { throw wrongArity(5); }
+			try {
+				return handle.invokeExact(target, a, b, c, d, e);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, a, b, c, d, e);
+			}
+		}
+
+		@Override
+		public Object invoke6(Object target, Object a, Object b, Object c, Object d, Object e, Object f) throws InvocationTargetException {
+			if (arity != 6) { throw wrongArity(6); }
+			try {
+				return handle.invokeExact(target, a, b, c, d, e, f);
+			} catch (Throwable throwable) {
+				throw failure(throwable, target, a, b, c, d, e, f);
+			}
+		}
+	}
+
+	/**
+	 * Core reflection fallback
+	 */
+	static final class ReflectiveInvoker extends MethodInvoker {
+
+		ReflectiveInvoker(Method method) {
+			super(method);
+		}
+
+		@Override
+		public boolean isDirect() {
+			return false;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args) throws InvocationTargetException, IllegalAccessException {
+			return method.invoke(target, args);
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Writes a <code>boolean</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface ObjBooleanSetter {
+
+	/**
+	 * @param target the object to write the field of (ignored for static fields)
+	 * @param value  the new value of the field
+	 */
+	void setBoolean(Object target, boolean value);
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Writes a <code>double</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface ObjDoubleSetter {
+
+	/**
+	 * @param target the object to write the field of (ignored for static fields)
+	 * @param value  the new value of the field
+	 */
+	void setDouble(Object target, double value);
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Writes a <code>float</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface ObjFloatSetter {
+
+	/**
+	 * @param target the object to write the field of (ignored for static fields)
+	 * @param value  the new value of the field
+	 */
+	void setFloat(Object target, float value);
+
+}
@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Writes a <code>short</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface ObjShortSetter {
+
+	/**
+	 * @param target the object to write the field of (ignored for static fields)
+	 * @param value  the new value of the field
+	 */
+	void setShort(Object target, short value);
+
+}
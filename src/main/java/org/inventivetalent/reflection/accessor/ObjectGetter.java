@@ -0,0 +1,17 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Reads an object field
+ *
+ * @param <T> field type
+ * @see FieldAccessor
+ */
+public interface ObjectGetter<T> {
+
+	/**
+	 * @param target the object to read the field from (ignored for static fields)
+	 * @return the value of the field, primitives are boxed
+	 */
+	T get(Object target);
+
+}
@@ -0,0 +1,17 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Writes an object field
+ *
+ * @param <T> field type
+ * @see FieldAccessor
+ */
+public interface ObjectSetter<T> {
+
+	/**
+	 * @param target the object to write the field of (ignored for static fields)
+	 * @param value  the new value of the field, primitives are unboxed
+	 */
+	void set(Object target, T value);
+
+}
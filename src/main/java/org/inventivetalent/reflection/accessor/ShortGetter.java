@@ -0,0 +1,16 @@
+package org.inventivetalent.reflection.accessor;
+
+/**
+ * Reads a <code>short</code> field without boxing
+ *
+ * @see FieldAccessor
+ */
+public interface ShortGetter {
+
+	/**
+	 * @param target the object to read the field from (ignored for static fields)
+	 * @return the value of the field
+	 */
+	short getShort(Object target);
+
+}
@@ -0,0 +1,365 @@
+package org.inventivetalent.reflection.annotation;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@link ReflectionLoader} for every class with {@link Class @Class}, {@link Field @Field} or
+ * {@link Method @Method} annotated fields, so {@link ReflectionAnnotations#load(Object)} runs straight-line code
+ * instead of reading the annotations through reflection.
+ * <p>
+ * The generated loader assigns the fields directly, so it is only generated if the holder &amp; all its annotated fields
+ * are accessible from the holder's package. Otherwise (or if an annotation can't be compiled, e.g. a field of the wrong
+ * type) a note is reported and the holder keeps being loaded through reflection, with the same behavior as before.
+ */
+public class ReflectionAnnotationProcessor extends AbstractProcessor {
+
+	static final String ANNOTATION_PACKAGE = "org.inventivetalent.reflection.annotation.";
+	static final String CLASS_ANNOTATION   = ANNOTATION_PACKAGE + "Class";
+	static final String FIELD_ANNOTATION   = ANNOTATION_PACKAGE + "Field";
+	static final String METHOD_ANNOTATION  = ANNOTATION_PACKAGE + "Method";
+
+	static final String WRAPPER_PACKAGE = "org.inventivetalent.reflection.resolver.wrapper.";
+	static final String LOADERS         = ANNOTATION_PACKAGE + "ReflectionLoaders";
+	static final String VERSION         = "org.inventivetalent.reflection.minecraft.Minecraft.Version";
+	static final String CURRENT_VERSION = "org.inventivetalent.reflection.minecraft.Minecraft.getVersionPackage()";
+
+	static final String CLASS_REFERENCE = "@Class(";
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return new HashSet<>(Arrays.asList(CLASS_ANNOTATION, FIELD_ANNOTATION, METHOD_ANNOTATION));
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		Set<TypeElement> holders = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() == ElementKind.FIELD) {
+					holders.add((TypeElement) element.getEnclosingElement());
+				}
+			}
+		}
+		for (TypeElement holder : holders) {
+			try {
+				String source = generate(holder);
+				String loaderName = ReflectionLoaders.loaderName(processingEnv.getElementUtils().getBinaryName(holder).toString());
+				JavaFileObject file = processingEnv.getFiler().createSourceFile(loaderName, holder);
+				try (Writer writer = file.openWriter()) {
+					writer.write(source);
+				}
+			} catch (Unsupported e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No ReflectionLoader generated, " + holder + " is loaded through reflection: " + e.getMessage(), e.element);
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the ReflectionLoader of " + holder + ": " + e, holder);
+			}
+		}
+		return false;
+	}
+
+	String generate(TypeElement holder) throws Unsupported {
+		checkAccessible(holder);
+		String holderName = holder.getQualifiedName().toString();
+		String packageName = processingEnv.getElementUtils().getPackageOf(holder).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(holder).toString();
+		String loaderSimpleName = ReflectionLoaders.loaderName(binaryName).substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+
+		StringBuilder body = new StringBuilder();
+		List<VariableElement> fields = ElementFilter.fieldsIn(holder.getEnclosedElements());
+		for (VariableElement field : fields) {
+			AnnotationMirror classAnnotation = annotation(field, CLASS_ANNOTATION);
+			AnnotationMirror fieldAnnotation = annotation(field, FIELD_ANNOTATION);
+			AnnotationMirror methodAnnotation = annotation(field, METHOD_ANNOTATION);
+			if (classAnnotation == null && fieldAnnotation == null && methodAnnotation == null) { continue; }
+			if (field.getModifiers().contains(Modifier.PRIVATE)) { throw new Unsupported(field, "field " + field + " is private"); }
+
+			// Same precedence as the reflective loader
+			if (classAnnotation != null) {
+				appendClass(body, holderName, field, classAnnotation);
+			} else if (fieldAnnotation != null) {
+				appendMember(body, holder, holderName, field, fieldAnnotation, "@Field", "fieldResolver", "FieldWrapper", "java.lang.reflect.Field", false);
+			} else {
+				appendMethod(body, holder, holderName, field, methodAnnotation);
+			}
+		}
+
+		StringBuilder source = new StringBuilder();
+		source.append("// Generated by ").append(getClass().getSimpleName()).append(" from ").append(holderName).append(", do not edit\n");
+		if (!packageName.isEmpty()) { source.append("package ").append(packageName).append(";\n"); }
+		source.append("\n");
+		source.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		source.append("public final class ").append(loaderSimpleName).append(" implements ").append(ANNOTATION_PACKAGE).append("ReflectionLoader<").append(holderName).append("> {\n");
+		source.append("\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic void load(").append(holderName).append(" toLoad) {\n");
+		source.append("\t\tString[] names;\n");
+		source.append(body);
+		source.append("\t}\n");
+		source.append("\n");
+		source.append("}\n");
+		return source.toString();
+	}
+
+	void appendClass(StringBuilder body, String holderName, VariableElement field, AnnotationMirror annotation) throws Unsupported {
+		String type = erasure(field);
+		boolean wrapper = (WRAPPER_PACKAGE + "ClassWrapper").equals(type);
+		if (!wrapper && !"java.lang.Class".equals(type)) { throw new Unsupported(field, "field " + field + " is not of type Class or ClassWrapper"); }
+
+		List<String> names = new ArrayList<>();
+		for (String name : strings(annotation, "value", field)) {
+			names.add(qualify(name));
+		}
+		appendNames(body, field, annotation, "@Class", names);
+		String target = target(holderName, field);
+		if (wrapper) {
+			body.append("\t\t").append(target).append(" = ").append(LOADERS).append(".classResolver().resolveWrapper(names);\n");
+		} else {
+			body.append("\t\ttry {\n");
+			body.append("\t\t\t").append(target).append(" = ").append(LOADERS).append(".classResolver().resolve(names);\n");
+			appendCatch(body, field, annotation, "@Class");
+		}
+	}
+
+	void appendMethod(StringBuilder body, TypeElement holder, String holderName, VariableElement field, AnnotationMirror annotation) throws Unsupported {
+		// Only signatures can contain spaces (e.g. "void aMethod()"), names can't be mixed with signatures
+		Boolean signature = null;
+		for (String name : strings(annotation, "value", field)) {
+			boolean isSignature = name.contains(" ");
+			if (signature != null && signature != isSignature) { throw new Unsupported(field, "field " + field + " mixes method names & signatures"); }
+			signature = isSignature;
+		}
+		appendMember(body, holder, holderName, field, annotation, "@Method", "methodResolver", "MethodWrapper", "java.lang.reflect.Method", signature != null && signature);
+	}
+
+	void appendMember(StringBuilder body, TypeElement holder, String holderName, VariableElement field, AnnotationMirror annotation, String annotationName, String resolver, String wrapperName, String memberName, boolean signature) throws Unsupported {
+		String type = erasure(field);
+		boolean wrapper = (WRAPPER_PACKAGE + wrapperName).equals(type);
+		if (!wrapper && !memberName.equals(type)) { throw new Unsupported(field, "field " + field + " is not of type " + memberName + " or " + wrapperName); }
+
+		String className = className(holder, field, annotation);
+		appendNames(body, field, annotation, annotationName, literals(strings(annotation, "value", field)));
+		String resolve = (signature ? "resolveSignature" : "resolve") + (wrapper ? "Wrapper" : "");
+		body.append("\t\ttry {\n");
+		body.append("\t\t\t").append(target(holderName, field)).append(" = ").append(LOADERS).append(".").append(resolver).append("(").append(className).append(").").append(resolve).append("(names);\n");
+		appendCatch(body, field, annotation, annotationName);
+	}
+
+	void appendNames(StringBuilder body, VariableElement field, AnnotationMirror annotation, String annotationName, List<String> names) throws Unsupported {
+		if (names.isEmpty()) { throw new Unsupported(field, annotationName + " names of " + field + " are empty"); }
+		List<String> versions = enums(annotation, "versions");
+		body.append("\t\t// ").append(annotationName).append(" ").append(field.getSimpleName()).append("\n");
+		if (versions.isEmpty()) {
+			body.append("\t\tnames = new String[] { ").append(join(names)).append(" };\n");
+		} else {
+			List<String> versionConstants = new ArrayList<>();
+			for (String version : versions) {
+				versionConstants.add(VERSION + "." + version);
+			}
+			body.append("\t\tnames = ").append(LOADERS).append(".names(\"").append(annotationName).append("\", new String[] { ").append(join(names)).append(" }, new ").append(VERSION).append("[] { ").append(join(versionConstants)).append(" });\n");
+		}
+	}
+
+	void appendCatch(StringBuilder body, VariableElement field, AnnotationMirror annotation, String annotationName) {
+		if (bool(annotation, "ignoreExceptions", true)) {
+			body.append("\t\t} catch (ReflectiveOperationException ignored) {\n");
+		} else {
+			body.append("\t\t} catch (ReflectiveOperationException e) {\n");
+			body.append("\t\t\tthrow ").append(LOADERS).append(".loadFailed(\"").append(annotationName).append("\", \"").append(field.getSimpleName()).append("\", toLoad, e);\n");
+		}
+		body.append("\t\t}\n");
+	}
+
+	// Expression of the class name, resolving "@Class(field)" references to a previously loaded field
+	String className(TypeElement holder, VariableElement field, AnnotationMirror annotation) throws Unsupported {
+		List<String> classNames = strings(annotation, "className", field);
+		if (classNames.size() != 1) { throw new Unsupported(field, "className of " + field + " is missing"); }
+		String className = classNames.get(0);
+		int start = className.indexOf(CLASS_REFERENCE);
+		int end = className.lastIndexOf(')');
+		if (start < 0 || end < start + CLASS_REFERENCE.length()) { return literal(className); }
+
+		String reference = className.substring(start + CLASS_REFERENCE.length(), end);
+		for (VariableElement candidate : ElementFilter.fieldsIn(holder.getEnclosedElements())) {
+			if (!candidate.getSimpleName().contentEquals(reference)) { continue; }
+			// The reflective loader only sees public fields
+			if (!candidate.getModifiers().contains(Modifier.PUBLIC)) { break; }
+			String type = erasure(candidate);
+			if ("java.lang.Class".equals(type) || (WRAPPER_PACKAGE + "ClassWrapper").equals(type)) {
+				return LOADERS + ".className(" + target(holder.getQualifiedName().toString(), candidate) + ")";
+			}
+			return literal(className);
+		}
+		throw new Unsupported(field, "class reference " + className + " of " + field + " is not a public field of the holder");
+	}
+
+	void checkAccessible(TypeElement holder) throws Unsupported {
+		for (Element element = holder; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			TypeElement type = (TypeElement) element;
+			if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) { throw new Unsupported(holder, "it is a local class"); }
+			if (type.getModifiers().contains(Modifier.PRIVATE)) { throw new Unsupported(holder, type + " is private"); }
+			if (!type.getTypeParameters().isEmpty() && type == holder) { throw new Unsupported(holder, "it is generic"); }
+		}
+	}
+
+	static String target(String holderName, VariableElement field) {
+		return (field.getModifiers().contains(Modifier.STATIC) ? holderName : "toLoad") + "." + field.getSimpleName();
+	}
+
+	String erasure(VariableElement field) {
+		TypeMirror type = processingEnv.getTypeUtils().erasure(field.asType());
+		return type.toString();
+	}
+
+	// Replaces {nms} & {obc} with the versioned packages
+	static String qualify(String name) {
+		StringBuilder expression = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+		for (int i = 0; i < name.length(); ) {
+			String prefix = name.startsWith("{nms}", i) ? "net.minecraft.server." : name.startsWith("{obc}", i) ? "org.bukkit.craftbukkit." : null;
+			if (prefix == null) {
+				literal.append(name.charAt(i++));
+				continue;
+			}
+			literal.append(prefix);
+			if (expression.length() > 0) { expression.append(" + "); }
+			expression.append(literal(literal.toString())).append(" + ").append(CURRENT_VERSION);
+			literal.setLength(0);
+			i += 5;
+		}
+		if (expression.length() == 0) { return literal(literal.toString()); }
+		if (literal.length() > 0) { expression.append(" + ").append(literal(literal.toString())); }
+		return expression.toString();
+	}
+
+	static AnnotationMirror annotation(Element element, String annotationName) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) { return mirror; }
+		}
+		return null;
+	}
+
+	static AnnotationValue value(AnnotationMirror annotation, String name) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) { return entry.getValue(); }
+		}
+		return null;
+	}
+
+	static List<String> strings(AnnotationMirror annotation, String name, Element element) throws Unsupported {
+		List<String> strings = new ArrayList<>();
+		AnnotationValue value = value(annotation, name);
+		if (value == null) { return strings; }
+		Object object = value.getValue();
+		if (object instanceof List) {
+			for (Object item : (List<?>) object) {
+				Object itemValue = ((AnnotationValue) item).getValue();
+				if (!(itemValue instanceof String)) { throw new Unsupported(element, "unresolved value " + item); }
+				strings.add((String) itemValue);
+			}
+		} else if (object instanceof String) {
+			strings.add((String) object);
+		} else {
+			throw new Unsupported(element, "unresolved value " + value);
+		}
+		return strings;
+	}
+
+	static List<String> enums(AnnotationMirror annotation, String name) {
+		List<String> enums = new ArrayList<>();
+		AnnotationValue value = value(annotation, name);
+		if (value == null) { return enums; }
+		Object object = value.getValue();
+		for (Object item : object instanceof List ? (List<?>) object : Arrays.asList(value)) {
+			enums.add(((VariableElement) ((AnnotationValue) item).getValue()).getSimpleName().toString());
+		}
+		return enums;
+	}
+
+	static boolean bool(AnnotationMirror annotation, String name, boolean defaultValue) {
+		AnnotationValue value = value(annotation, name);
+		return value != null ? (Boolean) value.getValue() : defaultValue;
+	}
+
+	static List<String> literals(List<String> strings) {
+		List<String> literals = new ArrayList<>();
+		for (String string : strings) {
+			literals.add(literal(string));
+		}
+		return literals;
+	}
+
+	static String literal(String string) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (char c : string.toCharArray()) {
+			switch (c) {
+				case '"':
+					literal.append("\\\"");
+					break;
+				case '\\':
+					literal.append("\\\\");
+					break;
+				case '\n':
+					literal.append("\\n");
+					break;
+				default:
+					if (c < 0x20 || c > 0x7e) {
+						literal.append(String.format("\\u%04x", (int) c));
+					} else {
+						literal.append(c);
+					}
+			}
+		}
+		return literal.append('"').toString();
+	}
+
+	static String join(List<String> expressions) {
+		StringBuilder joined = new StringBuilder();
+		for (String expression : expressions) {
+			if (joined.length() > 0) { joined.append(", "); }
+			joined.append(expression);
+		}
+		return joined.toString();
+	}
+
+	/**
+	 * The holder can't be compiled to a loader, it keeps being loaded through reflection
+	 */
+	static final class Unsupported extends Exception {
+		final Element element;
+
+		Unsupported(Element element, String message) {
+			super(message, null, false, false);
+			this.element = element;
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package org.inventivetalent.reflection.annotation;
 
+import org.inventivetalent.reflection.accessor.FieldAccessor;
 import org.inventivetalent.reflection.minecraft.Minecraft;
 import org.inventivetalent.reflection.resolver.ClassResolver;
 import org.inventivetalent.reflection.resolver.FieldResolver;
@@ -10,7 +11,9 @@ import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,12 +26,41 @@ public class ReflectionAnnotations {
 	private ReflectionAnnotations() {
 	}
 
+	// Binding plans of the holder classes without a generated loader
+	private final ClassValue<BindingPlan> plans = new ClassValue<BindingPlan>() {
+		@Override
+		protected BindingPlan computeValue(java.lang.Class<?> type) {
+			return plan(type);
+		}
+	};
+
 	public void load(Object toLoad) {
 		if (toLoad == null) { throw new IllegalArgumentException("toLoad cannot be null"); }
 
+		// Loader generated at build time by the ReflectionAnnotationProcessor
+		ReflectionLoader loader = ReflectionLoaders.of(toLoad.getClass());
+		if (loader != null) {
+			loader.load(toLoad);
+			return;
+		}
+
+		plans.get(toLoad.getClass()).apply(toLoad);
+	}
+
+	/**
+	 * Scans the annotated fields of a holder class &amp; resolves their values, once per holder class. Only values that
+	 * depend on the instance (a <code>@Class(field)</code> reference to a field that isn't loaded by the plan) are
+	 * resolved on every load.
+	 *
+	 * @param holder the holder class
+	 * @return the binding plan of the holder
+	 */
+	BindingPlan plan(java.lang.Class<?> holder) {
 		ClassResolver classResolver = new ClassResolver();
+		List<Binding> bindings = new ArrayList<>();
+		Map<String, Object> classValues = new HashMap<>();// Planned @Class values, by field name
 
-		for (java.lang.reflect.Field field : toLoad.getClass().getDeclaredFields()) {
+		for (java.lang.reflect.Field field : holder.getDeclaredFields()) {
 			Class classAnnotation = field.getAnnotation(Class.class);
 			Field fieldAnnotation = field.getAnnotation(Field.class);
 			Method methodAnnotation = field.getAnnotation(Method.class);
@@ -39,87 +71,108 @@ public class ReflectionAnnotations {
 				field.setAccessible(true);
 			}
 
-			if (classAnnotation != null) {
-				List<String> nameList = parseAnnotationVersions(Class.class, classAnnotation);
-				if (nameList.isEmpty()) { throw new IllegalArgumentException("@Class names cannot be empty"); }
-				String[] names = nameList.toArray(new String[nameList.size()]);
-				for (int i = 0; i < names.length; i++) {// Replace NMS & OBC
-					names[i] = names[i]
-							.replace("{nms}", "net.minecraft.server." + Minecraft.VERSION.name())
-							.replace("{obc}", "org.bukkit.craftbukkit." + Minecraft.VERSION.name());
-				}
-				try {
-					if (ClassWrapper.class.isAssignableFrom(field.getType())) {
-						field.set(toLoad, classResolver.resolveWrapper(names));
-					} else if (java.lang.Class.class.isAssignableFrom(field.getType())) {
-						field.set(toLoad, classResolver.resolve(names));
-					} else {
-						throwInvalidFieldType(field, toLoad, "Class or ClassWrapper");
-						return;
-					}
-				} catch (ReflectiveOperationException e) {
-					if (!classAnnotation.ignoreExceptions()) {
-						throwReflectionException("@Class", field, toLoad, e);
-						return;
-					}
+			try {
+				Binding binding;
+				if (classAnnotation != null) {
+					binding = planClass(field, classAnnotation, classResolver, classValues);
+				} else if (fieldAnnotation != null) {
+					binding = planMember(field, Field.class, fieldAnnotation, "@Field", fieldAnnotation.ignoreExceptions(), holder, classValues);
+				} else {
+					binding = planMember(field, Method.class, methodAnnotation, "@Method", methodAnnotation.ignoreExceptions(), holder, classValues);
 				}
-			} else if (fieldAnnotation != null) {
-				List<String> nameList = parseAnnotationVersions(Field.class, fieldAnnotation);
-				if (nameList.isEmpty()) { throw new IllegalArgumentException("@Field names cannot be empty"); }
-				String[] names = nameList.toArray(new String[nameList.size()]);
-				try {
-					FieldResolver fieldResolver = new FieldResolver(parseClass(Field.class, fieldAnnotation, toLoad));
-					if (FieldWrapper.class.isAssignableFrom(field.getType())) {
-						field.set(toLoad, fieldResolver.resolveWrapper(names));
-					} else if (java.lang.reflect.Field.class.isAssignableFrom(field.getType())) {
-						field.set(toLoad, fieldResolver.resolve(names));
-					} else {
-						throwInvalidFieldType(field, toLoad, "Field or FieldWrapper");
-						return;
-					}
-				} catch (ReflectiveOperationException e) {
-					if (!fieldAnnotation.ignoreExceptions()) {
-						throwReflectionException("@Field", field, toLoad, e);
-						return;
-					}
-				}
-			} else if (methodAnnotation != null) {
-				List<String> nameList = parseAnnotationVersions(Method.class, methodAnnotation);
-				if (nameList.isEmpty()) { throw new IllegalArgumentException("@Method names cannot be empty"); }
-				String[] names = nameList.toArray(new String[nameList.size()]);
-
-				boolean isSignature = names[0].contains(" ");// Only signatures can contain spaces (e.g. "void aMethod()")
-				for (String s : names) {
-					if (s.contains(" ") != isSignature) {
-						throw new IllegalArgumentException("Inconsistent method names: Cannot have mixed signatures/names");
-					}
+				if (binding != null) { bindings.add(binding); }
+				if (binding instanceof FailedBinding) { break; }// Nothing after it is loaded
+			} catch (RuntimeException e) {
+				bindings.add(new FailedBinding(field, e));
+				break;
+			}
+		}
+		return new BindingPlan(bindings.toArray(new Binding[bindings.size()]));
+	}
+
+	Binding planClass(java.lang.reflect.Field field, Class classAnnotation, ClassResolver classResolver, Map<String, Object> classValues) {
+		List<String> nameList = parseAnnotationVersions(Class.class, classAnnotation);
+		if (nameList.isEmpty()) { throw new IllegalArgumentException("@Class names cannot be empty"); }
+		String[] names = nameList.toArray(new String[nameList.size()]);
+		for (int i = 0; i < names.length; i++) {// Replace NMS & OBC
+			if (names[i].indexOf('{') < 0) { continue; }
+			names[i] = names[i]
+					.replace("{nms}", "net.minecraft.server." + Minecraft.getVersionPackage())
+					.replace("{obc}", "org.bukkit.craftbukkit." + Minecraft.getVersionPackage());
+		}
+		try {
+			Object value;
+			if (ClassWrapper.class.isAssignableFrom(field.getType())) {
+				value = classResolver.resolveWrapper(names);
+			} else if (java.lang.Class.class.isAssignableFrom(field.getType())) {
+				value = classResolver.resolve(names);
+			} else {
+				return new FailedBinding(field, invalidFieldType(field, field.getDeclaringClass(), "Class or ClassWrapper"));
+			}
+			classValues.put(field.getName(), value);
+			return new ValueBinding(field, value);
+		} catch (ReflectiveOperationException e) {
+			if (!classAnnotation.ignoreExceptions()) {
+				return new FailedBinding(field, "@Class", e);
+			}
+		}
+		return null;
+	}
+
+	<A extends Annotation> Binding planMember(java.lang.reflect.Field field, java.lang.Class<A> annotationClass, A annotation, String annotationName, boolean ignoreExceptions, java.lang.Class<?> holder, Map<String, Object> classValues) {
+		List<String> nameList = parseAnnotationVersions(annotationClass, annotation);
+		if (nameList.isEmpty()) { throw new IllegalArgumentException(annotationName + " names cannot be empty"); }
+		String[] names = nameList.toArray(new String[nameList.size()]);
+
+		boolean isSignature = false;
+		if (annotationClass == Method.class) {
+			isSignature = names[0].contains(" ");// Only signatures can contain spaces (e.g. "void aMethod()")
+			for (String s : names) {
+				if (s.contains(" ") != isSignature) {
+					throw new IllegalArgumentException("Inconsistent method names: Cannot have mixed signatures/names");
 				}
+			}
+		}
 
-				try {
-					MethodResolver methodResolver = new MethodResolver(parseClass(Method.class, methodAnnotation, toLoad));
-					if (MethodWrapper.class.isAssignableFrom(field.getType())) {
-						if (isSignature) {
-							field.set(toLoad, methodResolver.resolveSignatureWrapper(names));
-						} else {
-							field.set(toLoad, methodResolver.resolveWrapper(names));
-						}
-					} else if (java.lang.reflect.Method.class.isAssignableFrom(field.getType())) {
-						if (isSignature) {
-							field.set(toLoad, methodResolver.resolveSignature(names));
-						} else {
-							field.set(toLoad, methodResolver.resolve(names));
-						}
-					} else {
-						throwInvalidFieldType(field, toLoad, "Method or MethodWrapper");
-						return;
-					}
-				} catch (ReflectiveOperationException e) {
-					if (!methodAnnotation.ignoreExceptions()) {
-						throwReflectionException("@Method", field, toLoad, e);
-						return;
-					}
+		java.lang.Class<?> wrapperType = annotationClass == Field.class ? FieldWrapper.class : MethodWrapper.class;
+		java.lang.Class<?> memberType = annotationClass == Field.class ? java.lang.reflect.Field.class : java.lang.reflect.Method.class;
+		if (!wrapperType.isAssignableFrom(field.getType()) && !memberType.isAssignableFrom(field.getType())) {
+			return new FailedBinding(field, invalidFieldType(field, holder, memberType.getSimpleName() + " or " + wrapperType.getSimpleName()));
+		}
+
+		MemberBinding binding = new MemberBinding(field, annotationClass, annotation, annotationName, ignoreExceptions, names, isSignature, wrapperType.isAssignableFrom(field.getType()));
+		String className = plannedClass(annotationClass, annotation, holder, classValues);
+		if (className == null) { return binding; }// Depends on the instance
+		try {
+			return new ValueBinding(field, binding.resolve(className));
+		} catch (ReflectiveOperationException e) {
+			if (!ignoreExceptions) {
+				return new FailedBinding(field, annotationName, e);
+			}
+		}
+		return null;
+	}
+
+	// Same as parseClass, with the values of the planned @Class fields; null if the class depends on the instance
+	<A extends Annotation> String plannedClass(java.lang.Class<A> clazz, A annotation, java.lang.Class<?> holder, Map<String, Object> classValues) {
+		try {
+			String className = (String) clazz.getMethod("className").invoke(annotation);
+			Matcher matcher = classRefPattern.matcher(className);
+			while (matcher.find()) {
+				if (matcher.groupCount() != 1) { continue; }
+				String fieldName = matcher.group(1);// It's a reference to a previously loaded class
+				Object planned = classValues.get(fieldName);
+				if (planned != null) {
+					return planned instanceof ClassWrapper ? ((ClassWrapper) planned).getName() : ((java.lang.Class) planned).getName();
+				}
+				java.lang.reflect.Field field = holder.getField(fieldName);
+				if (ClassWrapper.class.isAssignableFrom(field.getType()) || java.lang.Class.class.isAssignableFrom(field.getType())) {
+					return null;// Not loaded by the plan, read from the instance
 				}
 			}
+			return className;
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
 		}
 	}
 
@@ -147,14 +200,9 @@ public class ReflectionAnnotations {
 					throw new RuntimeException("versions array cannot have more elements than the names (" + clazz + ")");
 				}
 				for (int i = 0; i < versions.length; i++) {
-					if (Minecraft.VERSION == versions[i]) {// Wohoo, perfect match!
-						list.add(names[i]);
-					} else {
-						if (names[i].startsWith(">") && Minecraft.VERSION.newerThan(versions[i])) {// Match if the current version is newer
-							list.add(names[i].substring(1));
-						} else if (names[i].startsWith("<") && Minecraft.VERSION.olderThan(versions[i])) {// Match if the current version is older
-							list.add(names[i].substring(1));
-						}
+					String name = ReflectionLoaders.matchingName(Minecraft.VERSION_ID, names[i], versions[i]);
+					if (name != null) {
+						list.add(name);
 					}
 				}
 			}
@@ -185,12 +233,135 @@ public class ReflectionAnnotations {
 		}
 	}
 
-	void throwInvalidFieldType(java.lang.reflect.Field field, Object toLoad, String expected) {
-		throw new IllegalArgumentException("Field " + field.getName() + " in " + toLoad.getClass() + " is not of type " + expected + ", it's " + field.getType());
+	static IllegalArgumentException invalidFieldType(java.lang.reflect.Field field, java.lang.Class<?> holder, String expected) {
+		return new IllegalArgumentException("Field " + field.getName() + " in " + holder + " is not of type " + expected + ", it's " + field.getType());
+	}
+
+	/**
+	 * Annotated fields of a holder class, in declaration order
+	 */
+	static final class BindingPlan {
+		final Binding[] bindings;
+		volatile boolean staticsLoaded;// Static fields are only set by the first complete load
+
+		BindingPlan(Binding[] bindings) {
+			this.bindings = bindings;
+		}
+
+		void apply(Object toLoad) {
+			boolean staticsLoaded = this.staticsLoaded;
+			for (Binding binding : bindings) {
+				if (staticsLoaded && binding.isStatic) { continue; }
+				binding.apply(toLoad);
+			}
+			this.staticsLoaded = true;
+		}
+	}
+
+	abstract static class Binding {
+		final java.lang.reflect.Field field;
+		final boolean                 isStatic;
+
+		Binding(java.lang.reflect.Field field) {
+			this.field = field;
+			this.isStatic = java.lang.reflect.Modifier.isStatic(field.getModifiers());
+		}
+
+		abstract void apply(Object toLoad);
+
+		void set(Object toLoad, Object value) {
+			try {
+				field.set(toLoad, value);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	// Value resolved when planning
+	static final class ValueBinding extends Binding {
+		final FieldAccessor<Object> accessor;
+		final Object                value;
+
+		ValueBinding(java.lang.reflect.Field field, Object value) {
+			super(field);
+			this.accessor = FieldAccessor.of(field);
+			this.value = value;
+		}
+
+		@Override
+		void apply(Object toLoad) {
+			accessor.set(toLoad, value);
+		}
 	}
 
-	void throwReflectionException(String annotation, java.lang.reflect.Field field, Object toLoad, ReflectiveOperationException exception) {
-		throw new RuntimeException("Failed to set " + annotation + " field " + field.getName() + " in " + toLoad.getClass(), exception);
+	// @Field or @Method referencing a class field that isn't planned, resolved on every load
+	final class MemberBinding extends Binding {
+		final java.lang.Class   annotationClass;
+		final Annotation        annotation;
+		final String            annotationName;
+		final boolean           ignoreExceptions;
+		final String[]          names;
+		final boolean           isSignature;
+		final boolean           isWrapper;
+
+		MemberBinding(java.lang.reflect.Field field, java.lang.Class annotationClass, Annotation annotation, String annotationName, boolean ignoreExceptions, String[] names, boolean isSignature, boolean isWrapper) {
+			super(field);
+			this.annotationClass = annotationClass;
+			this.annotation = annotation;
+			this.annotationName = annotationName;
+			this.ignoreExceptions = ignoreExceptions;
+			this.names = names;
+			this.isSignature = isSignature;
+			this.isWrapper = isWrapper;
+		}
+
+		Object resolve(String className) throws ReflectiveOperationException {
+			if (annotationClass == Field.class) {
+				FieldResolver fieldResolver = new FieldResolver(className);
+				return isWrapper ? fieldResolver.resolveWrapper(names) : fieldResolver.resolve(names);
+			}
+			MethodResolver methodResolver = new MethodResolver(className);
+			if (isSignature) {
+				return isWrapper ? methodResolver.resolveSignatureWrapper(names) : methodResolver.resolveSignature(names);
+			}
+			return isWrapper ? methodResolver.resolveWrapper(names) : methodResolver.resolve(names);
+		}
+
+		@Override
+		void apply(Object toLoad) {
+			try {
+				set(toLoad, resolve(parseClass(annotationClass, annotation, toLoad)));
+			} catch (ReflectiveOperationException e) {
+				if (!ignoreExceptions) {
+					throw new RuntimeException("Failed to set " + annotationName + " field " + field.getName() + " in " + toLoad.getClass(), e);
+				}
+			}
+		}
+	}
+
+	// Stops the load, like the failure it was planned from
+	static final class FailedBinding extends Binding {
+		final String           annotationName;
+		final Exception        cause;
+
+		FailedBinding(java.lang.reflect.Field field, String annotationName, ReflectiveOperationException cause) {
+			super(field);
+			this.annotationName = annotationName;
+			this.cause = cause;
+		}
+
+		FailedBinding(java.lang.reflect.Field field, RuntimeException cause) {
+			super(field);
+			this.annotationName = null;
+			this.cause = cause;
+		}
+
+		@Override
+		void apply(Object toLoad) {
+			if (annotationName == null) { throw (RuntimeException) cause; }
+			throw new RuntimeException("Failed to set " + annotationName + " field " + field.getName() + " in " + toLoad.getClass(), cause);
+		}
 	}
 
 }
@@ -0,0 +1,19 @@
+package org.inventivetalent.reflection.annotation;
+
+/**
+ * Loads the {@link Class @Class}, {@link Field @Field} &amp; {@link Method @Method} annotated fields of a holder
+ * class, generated at build time by the {@link ReflectionAnnotationProcessor}
+ *
+ * @param <T> holder type
+ * @see ReflectionLoaders
+ */
+public interface ReflectionLoader<T> {
+
+	/**
+	 * Sets the annotated fields of the holder
+	 *
+	 * @param toLoad the holder
+	 */
+	void load(T toLoad);
+
+}
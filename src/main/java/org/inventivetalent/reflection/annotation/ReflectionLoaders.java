@@ -0,0 +1,128 @@
+package org.inventivetalent.reflection.annotation;
+
+import org.inventivetalent.reflection.minecraft.Minecraft;
+import org.inventivetalent.reflection.resolver.ClassResolver;
+import org.inventivetalent.reflection.resolver.FieldResolver;
+import org.inventivetalent.reflection.resolver.MethodResolver;
+import org.inventivetalent.reflection.resolver.ResolverCache;
+import org.inventivetalent.reflection.resolver.wrapper.ClassWrapper;
+
+import java.util.Arrays;
+
+/**
+ * Registry of the generated {@link ReflectionLoader}s, and the runtime helpers they are compiled against
+ * <p>
+ * The loader of a holder is looked up once per holder class; holders without a generated loader (e.g. because they
+ * were compiled without the processor) are loaded by {@link ReflectionAnnotations} through reflection.
+ */
+public final class ReflectionLoaders {
+
+	/**
+	 * Suffix of the generated loader classes, appended to the holder name (with <code>$</code> replaced by <code>_</code>)
+	 */
+	public static final String LOADER_SUFFIX = "_ReflectionLoader";
+
+	private static final Object NONE = new Object();// Marks holders without a generated loader
+
+	private static final ClassValue<Object> loaders = new ClassValue<Object>() {
+		@Override
+		protected Object computeValue(java.lang.Class<?> type) {
+			try {
+				java.lang.Class<?> loaderClass = java.lang.Class.forName(loaderName(type.getName()), true, type.getClassLoader());
+				if (!ReflectionLoader.class.isAssignableFrom(loaderClass)) { return NONE; }
+				return loaderClass.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				return NONE;
+			}
+		}
+	};
+
+	private static final ClassResolver classResolver = new ClassResolver();
+
+	private ReflectionLoaders() {
+	}
+
+	/**
+	 * @param holderName binary name of the holder class
+	 * @return binary name of its generated loader
+	 */
+	public static String loaderName(String holderName) {
+		int packageEnd = holderName.lastIndexOf('.');
+		return holderName.substring(0, packageEnd + 1) + holderName.substring(packageEnd + 1).replace('$', '_') + LOADER_SUFFIX;
+	}
+
+	/**
+	 * @param holder holder class
+	 * @param <T>    holder type
+	 * @return the generated loader of the holder, or <code>null</code> if it has none
+	 */
+	public static <T> ReflectionLoader<T> of(java.lang.Class<T> holder) {
+		Object loader = loaders.get(holder);
+		return loader != NONE ? (ReflectionLoader<T>) loader : null;
+	}
+
+	//// Used by the generated loaders
+
+	/**
+	 * Keeps the names matching the current server version, see {@link Field#versions()}
+	 *
+	 * @param annotation name of the annotation, for the error message
+	 * @param names      names of the annotation
+	 * @param versions   versions of the annotation
+	 * @return the matching names
+	 */
+	public static String[] names(String annotation, String[] names, Minecraft.Version[] versions) {
+		if (versions.length > names.length) {
+			throw new RuntimeException("versions array cannot have more elements than the names (" + annotation + ")");
+		}
+		String[] matching = new String[versions.length];
+		int count = 0;
+		for (int i = 0; i < versions.length; i++) {
+			String name = matchingName(Minecraft.VERSION_ID, names[i], versions[i]);
+			if (name != null) { matching[count++] = name; }
+		}
+		if (count == 0) { throw new IllegalArgumentException(annotation + " names cannot be empty"); }
+		return count == matching.length ? matching : Arrays.copyOf(matching, count);
+	}
+
+	/**
+	 * Matches a name of an annotation against the server version id rather than {@link Minecraft#VERSION}, so a server
+	 * newer than all the known versions is not mistaken for the newest known one
+	 *
+	 * @param versionId id of the server version, see {@link Minecraft#VERSION_ID}
+	 * @param name      the name, optionally prefixed with <code>&gt;</code> (newer) or <code>&lt;</code> (older)
+	 * @param version   the version of the name
+	 * @return the name (without prefix unless the version matches exactly) if it matches, <code>null</code> otherwise
+	 */
+	static String matchingName(int versionId, String name, Minecraft.Version version) {
+		if (versionId == version.version()) { return name; }
+		if (name.startsWith(">") && versionId > version.version()) { return name.substring(1); }
+		if (name.startsWith("<") && versionId < version.version()) { return name.substring(1); }
+		return null;
+	}
+
+	public static String className(java.lang.Class<?> clazz) {
+		return clazz.getName();
+	}
+
+	public static String className(ClassWrapper<?> clazz) {
+		return clazz.getName();
+	}
+
+	public static ClassResolver classResolver() {
+		return classResolver;
+	}
+
+	public static FieldResolver fieldResolver(String className) throws ClassNotFoundException {
+		return ResolverCache.fieldResolver(classResolver.resolve(className));
+	}
+
+	public static MethodResolver methodResolver(String className) throws ClassNotFoundException {
+		return ResolverCache.methodResolver(classResolver.resolve(className));
+	}
+
+	public static RuntimeException loadFailed(String annotation, String fieldName, Object toLoad, ReflectiveOperationException exception) {
+		return new RuntimeException("Failed to set " + annotation + " field " + fieldName + " in " + toLoad.getClass(), exception);
+	}
+
+}
@@ -26,19 +26,29 @@ public class DataWatcher {
 
 	static FieldResolver DataWatcherFieldResolver = new FieldResolver(DataWatcher);
 
-	static MethodResolver TIntObjectMapMethodResolver = new MethodResolver(TIntObjectMap);
+	static MethodResolver TIntObjectMapMethodResolver = TIntObjectMap != null ? new MethodResolver(TIntObjectMap) : null;
 	static MethodResolver DataWatcherMethodResolver   = new MethodResolver(DataWatcher);
 
 	public static Object newDataWatcher(Object entity) throws ReflectiveOperationException {
-		return DataWacherConstructorResolver.resolve(new Class[] { Entity }).newInstance(entity);
+		return DataWatcherAccessor.get().newDataWatcher(entity);
 	}
 
 	public static Object setValue(Object dataWatcher, int index, Object dataWatcherObject/*1.9*/, Object value) throws ReflectiveOperationException {
-		if (Minecraft.VERSION.olderThan(Minecraft.Version.v1_9_R1)) {
-			return V1_8.setValue(dataWatcher, index, value);
-		} else {
-			return V1_9.setValue(dataWatcher, dataWatcherObject, value);
-		}
+		return DataWatcherAccessor.get().setValue(dataWatcher, index, dataWatcherObject, value);
+	}
+
+	/**
+	 * Sets several values, see {@link DataWatcherBatch} to apply the same values to several DataWatchers
+	 *
+	 * @param dataWatcher        the DataWatcher
+	 * @param indices            indices of the values (&lt; 1.9), may be <code>null</code> on 1.9+
+	 * @param dataWatcherObjects keys of the values (1.9+), may be <code>null</code> before 1.9
+	 * @param values             the values
+	 * @return the DataWatcher
+	 * @throws ReflectiveOperationException if a value can't be set
+	 */
+	public static Object setValues(Object dataWatcher, int[] indices, Object[] dataWatcherObjects/*1.9*/, Object[] values) throws ReflectiveOperationException {
+		return DataWatcherAccessor.get().setValues(dataWatcher, indices, dataWatcherObjects, values, values.length);
 	}
 
 	public static Object setValue(Object dataWatcher, int index, V1_9.ValueType type, Object value) throws ReflectiveOperationException {
@@ -46,12 +56,12 @@ public class DataWatcher {
 	}
 
 	public static Object setValue(Object dataWatcher, int index, Object value, FieldResolver dataWatcherObjectFieldResolver/*1.9*/, String... dataWatcherObjectFieldNames/*1.9*/) throws ReflectiveOperationException {
-		if (Minecraft.VERSION.olderThan(Minecraft.Version.v1_9_R1)) {
-			return V1_8.setValue(dataWatcher, index, value);
-		} else {
-			Object dataWatcherObject = dataWatcherObjectFieldResolver.resolve(dataWatcherObjectFieldNames).get(null/*Should be a static field*/);
-			return V1_9.setValue(dataWatcher, dataWatcherObject, value);
+		DataWatcherAccessor accessor = DataWatcherAccessor.get();
+		Object dataWatcherObject = null;
+		if (accessor.hasDataWatcherObjects()) {
+			dataWatcherObject = dataWatcherObjectFieldResolver.resolve(dataWatcherObjectFieldNames).get(null/*Should be a static field*/);
 		}
+		return accessor.setValue(dataWatcher, index, dataWatcherObject, value);
 	}
 
 	@Deprecated
@@ -68,11 +78,7 @@ public class DataWatcher {
 	}
 
 	public static Object getValue(Object dataWatcher, int index, Object dataWatcherObject/*1.9*/) throws ReflectiveOperationException {
-		if (Minecraft.VERSION.olderThan(Minecraft.Version.v1_9_R1)) {
-			return V1_8.getWatchableObjectValue(V1_8.getValue(dataWatcher, index));
-		} else {
-			return V1_9.getValue(dataWatcher, dataWatcherObject);
-		}
+		return DataWatcherAccessor.get().getValue(dataWatcher, index, dataWatcherObject);
 	}
 
 	//TODO: update type-ids to 1.9
@@ -124,8 +130,15 @@ public class DataWatcher {
 		}
 
 		public static Object setItem(Object dataWatcher, int index, Object dataWatcherItem) throws ReflectiveOperationException {
-			Map<Integer, Object> map = (Map<Integer, Object>) DataWatcherFieldResolver.resolveByLastTypeSilent(Map.class).get(dataWatcher);
-			map.put(index, dataWatcherItem);
+			DataWatcherAccessor.get().getItems(dataWatcher).put(index, dataWatcherItem);
+			return dataWatcher;
+		}
+
+		public static Object setItems(Object dataWatcher, int[] indices, Object[] dataWatcherItems) throws ReflectiveOperationException {
+			Map<Integer, Object> map = DataWatcherAccessor.get().getItems(dataWatcher);
+			for (int i = 0; i < indices.length; i++) {
+				map.put(indices[i], dataWatcherItems[i]);
+			}
 			return dataWatcher;
 		}
 
@@ -156,16 +169,12 @@ public class DataWatcher {
 			return DataWatcherItemFieldResolver.resolve("a").get(item);
 		}
 
+		/**
+		 * @return the index of the item, <code>-1</code> if the item is not in the DataWatcher
+		 * @see DataWatcherIndex
+		 */
 		public static int getItemIndex(Object dataWatcher, Object item) throws ReflectiveOperationException {
-			int index = -1;//Return -1 if the item is not in the DataWatcher
-			Map<Integer, Object> map = (Map<Integer, Object>) DataWatcherFieldResolver.resolveByLastTypeSilent(Map.class).get(dataWatcher);
-			for (Map.Entry<Integer, Object> entry : map.entrySet()) {
-				if (entry.getValue().equals(item)) {
-					index = entry.getKey();
-					break;
-				}
-			}
-			return index;
+			return DataWatcherIndex.of(dataWatcher).indexOf(item);
 		}
 
 		public static Type getItemType(Object item) throws ReflectiveOperationException {
@@ -378,16 +387,13 @@ public class DataWatcher {
 		public static Object setValue(Object dataWatcher, int index, Object value) throws ReflectiveOperationException {
 			int type = getValueType(value);
 
-			Map map = (Map) DataWatcherFieldResolver.resolveByLastType(Map.class).get(dataWatcher);
-			map.put(index, newWatchableObject(type, index, value));
+			DataWatcherAccessor.get().getItems(dataWatcher).put(index, newWatchableObject(type, index, value));
 
 			return dataWatcher;
 		}
 
 		public static Object getValue(Object dataWatcher, int index) throws ReflectiveOperationException {
-			Map map = (Map) DataWatcherFieldResolver.resolveByLastType(Map.class).get(dataWatcher);
-
-			return map.get(index);
+			return DataWatcherAccessor.get().getItems(dataWatcher).get(index);
 		}
 
 		public static int getWatchableObjectIndex(Object object) throws ReflectiveOperationException {
@@ -0,0 +1,257 @@
+package org.inventivetalent.reflection.minecraft;
+
+import org.inventivetalent.reflection.accessor.Factory;
+import org.inventivetalent.reflection.accessor.FieldAccessor;
+import org.inventivetalent.reflection.accessor.MethodInvoker;
+import org.inventivetalent.reflection.resolver.ConstructorResolver;
+import org.inventivetalent.reflection.resolver.FieldResolver;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+/**
+ * Reads &amp; writes DataWatcher values of the running version
+ * <p>
+ * The accessor is chosen once for the server version (DataWatcherObject keys since 1.9, index keys before) and holds
+ * the accessors of the entry map, of the <code>set</code> &amp; <code>get</code> methods and of the entry
+ * constructors, so reads &amp; writes don't resolve anything nor branch on the version.
+ *
+ * @see DataWatcher
+ */
+public abstract class DataWatcherAccessor {
+
+	private static final VersionedValue<Creator> creators = VersionedValue.<Creator> of(V1_8::new).since(Minecraft.Version.v1_9_R1, V1_9::new);
+
+	private static volatile DataWatcherAccessor accessor;
+
+	private final Factory<?>                          dataWatcherFactory;// DataWatcher(Entity)
+	private final FieldAccessor<Map<Integer, Object>> items;// null if the entries are stored in a TIntObjectMap
+	private final FieldAccessor<Object>               troveItems;// null if the entries are stored in a Map
+
+	DataWatcherAccessor() throws ReflectiveOperationException {
+		this.dataWatcherFactory = Factory.of(DataWatcher.DataWacherConstructorResolver.resolve(new Class[] { DataWatcher.Entity }));
+		Field items = DataWatcher.DataWatcherFieldResolver.resolveByLastTypeSilent(Map.class);
+		Field troveItems = items == null && DataWatcher.TIntObjectMap != null ? DataWatcher.DataWatcherFieldResolver.resolveByLastTypeSilent(DataWatcher.TIntObjectMap) : null;
+		this.items = items != null ? FieldAccessor.<Map<Integer, Object>> of(items) : null;
+		this.troveItems = troveItems != null ? FieldAccessor.of(troveItems) : null;
+	}
+
+	/**
+	 * @return the accessor of the running version
+	 * @throws ReflectiveOperationException if the DataWatcher members can't be resolved
+	 */
+	public static DataWatcherAccessor get() throws ReflectiveOperationException {
+		DataWatcherAccessor accessor = DataWatcherAccessor.accessor;
+		if (accessor == null) {
+			DataWatcherAccessor.accessor = accessor = creators.get().create();
+		}
+		return accessor;
+	}
+
+	/**
+	 * @return <code>true</code> if values are keyed by DataWatcherObjects (1.9+), <code>false</code> if they are keyed by index
+	 */
+	public abstract boolean hasDataWatcherObjects();
+
+	public Object newDataWatcher(Object entity) throws ReflectiveOperationException {
+		return dataWatcherFactory.create(entity);
+	}
+
+	/**
+	 * @param dataWatcher the DataWatcher
+	 * @return the (live) map of the entries (WatchableObjects or DataWatcher$Items) by index
+	 * @throws NoSuchFieldException if the entries are stored in a TIntObjectMap, see {@link DataWatcherIndex}
+	 */
+	public Map<Integer, Object> getItems(Object dataWatcher) throws NoSuchFieldException {
+		if (items == null) { throw new NoSuchFieldException("Could not resolve field of type 'interface java.util.Map' in class " + DataWatcher.DataWatcher); }
+		return items.get(dataWatcher);
+	}
+
+	/**
+	 * @param dataWatcher the DataWatcher
+	 * @return the (live) Map or TIntObjectMap of the entries by index
+	 * @throws NoSuchFieldException if the DataWatcher has no map of entries
+	 */
+	Object getItemStore(Object dataWatcher) throws NoSuchFieldException {
+		if (items != null) { return items.get(dataWatcher); }
+		if (troveItems != null) { return troveItems.get(dataWatcher); }
+		throw new NoSuchFieldException("Could not resolve the entry map in class " + DataWatcher.DataWatcher);
+	}
+
+	/**
+	 * Creates an entry, which is not added to any DataWatcher
+	 *
+	 * @param index             index of the value (&lt; 1.9)
+	 * @param dataWatcherObject key of the value (1.9+)
+	 * @param value             the value
+	 * @return the WatchableObject or DataWatcher$Item
+	 * @throws ReflectiveOperationException if the entry can't be created
+	 */
+	public abstract Object newItem(int index, Object dataWatcherObject, Object value) throws ReflectiveOperationException;
+
+	/**
+	 * @param item a WatchableObject or DataWatcher$Item
+	 * @return the value of the entry
+	 */
+	public abstract Object getItemValue(Object item);
+
+	/**
+	 * @param dataWatcher       the DataWatcher
+	 * @param index             index of the value (&lt; 1.9)
+	 * @param dataWatcherObject key of the value (1.9+)
+	 * @param value             the value
+	 * @return the DataWatcher
+	 * @throws ReflectiveOperationException if the value can't be set
+	 */
+	public abstract Object setValue(Object dataWatcher, int index, Object dataWatcherObject, Object value) throws ReflectiveOperationException;
+
+	/**
+	 * @param dataWatcher       the DataWatcher
+	 * @param index             index of the value (&lt; 1.9)
+	 * @param dataWatcherObject key of the value (1.9+)
+	 * @return the value, <code>null</code> if there is no value at the index (&lt; 1.9)
+	 * @throws ReflectiveOperationException if the value can't be read
+	 */
+	public abstract Object getValue(Object dataWatcher, int index, Object dataWatcherObject) throws ReflectiveOperationException;
+
+	/**
+	 * Sets several values, through <code>DataWatcher#set</code> (1.9+) or by replacing the entries of an entry map read once (&lt; 1.9)
+	 *
+	 * @param dataWatcher        the DataWatcher
+	 * @param indices            indices of the values (&lt; 1.9), may be <code>null</code> on 1.9+
+	 * @param dataWatcherObjects keys of the values (1.9+), may be <code>null</code> before 1.9
+	 * @param values             the values
+	 * @param length             number of values to set, from the start of the arrays
+	 * @return the DataWatcher
+	 * @throws ReflectiveOperationException if a value can't be set
+	 */
+	public Object setValues(Object dataWatcher, int[] indices, Object[] dataWatcherObjects, Object[] values, int length) throws ReflectiveOperationException {
+		for (int i = 0; i < length; i++) {
+			setValue(dataWatcher, indices != null ? indices[i] : -1, dataWatcherObjects != null ? dataWatcherObjects[i] : null, values[i]);
+		}
+		return dataWatcher;
+	}
+
+	/**
+	 * Adds new entries (replacing the entries at the same indices), the entry map is read once
+	 *
+	 * @param dataWatcher        the DataWatcher
+	 * @param indices            indices of the entries
+	 * @param dataWatcherObjects keys of the values (1.9+), may be <code>null</code> before 1.9
+	 * @param values             the values
+	 * @param length             number of entries to add, from the start of the arrays
+	 * @return the DataWatcher
+	 * @throws ReflectiveOperationException if an entry can't be created
+	 */
+	public Object setItems(Object dataWatcher, int[] indices, Object[] dataWatcherObjects, Object[] values, int length) throws ReflectiveOperationException {
+		Map<Integer, Object> items = getItems(dataWatcher);
+		for (int i = 0; i < length; i++) {
+			items.put(indices[i], newItem(indices[i], dataWatcherObjects != null ? dataWatcherObjects[i] : null, values[i]));
+		}
+		return dataWatcher;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" + dataWatcherFactory.getConstructor().getDeclaringClass().getName() + "}";
+	}
+
+	private interface Creator {
+		DataWatcherAccessor create() throws ReflectiveOperationException;
+	}
+
+	/**
+	 * Accessor for versions older than 1.9: values are WatchableObjects, replaced on every write
+	 */
+	static final class V1_8 extends DataWatcherAccessor {
+
+		private final Factory<?>            watchableObjectFactory;// WatchableObject(int type, int index, Object value)
+		private final FieldAccessor<Object> watchableObjectValue;
+
+		V1_8() throws ReflectiveOperationException {
+			this.watchableObjectFactory = Factory.of(new ConstructorResolver(DataWatcher.V1_8.WatchableObject).resolve(new Class[] {
+					int.class,
+					int.class,
+					Object.class }));
+			this.watchableObjectValue = FieldAccessor.of(new FieldResolver(DataWatcher.V1_8.WatchableObject).resolve("c"));
+		}
+
+		@Override
+		public boolean hasDataWatcherObjects() {
+			return false;
+		}
+
+		@Override
+		public Object newItem(int index, Object dataWatcherObject, Object value) throws ReflectiveOperationException {
+			return watchableObjectFactory.create(DataWatcher.getValueType(value), index, value);
+		}
+
+		@Override
+		public Object getItemValue(Object item) {
+			return watchableObjectValue.get(item);
+		}
+
+		@Override
+		public Object setValue(Object dataWatcher, int index, Object dataWatcherObject, Object value) throws ReflectiveOperationException {
+			getItems(dataWatcher).put(index, newItem(index, null, value));
+			return dataWatcher;
+		}
+
+		@Override
+		public Object setValues(Object dataWatcher, int[] indices, Object[] dataWatcherObjects, Object[] values, int length) throws ReflectiveOperationException {
+			return setItems(dataWatcher, indices, dataWatcherObjects, values, length);// Writes replace the entries
+		}
+
+		@Override
+		public Object getValue(Object dataWatcher, int index, Object dataWatcherObject) throws ReflectiveOperationException {
+			Object item = getItems(dataWatcher).get(index);
+			return item != null ? watchableObjectValue.get(item) : null;
+		}
+	}
+
+	/**
+	 * Accessor for 1.9 &amp; newer: values are keyed by DataWatcherObjects &amp; written through <code>DataWatcher#set</code>,
+	 * which flags them as dirty
+	 */
+	static final class V1_9 extends DataWatcherAccessor {
+
+		private final MethodInvoker         set;// set(DataWatcherObject, Object)
+		private final MethodInvoker         get;// get(DataWatcherObject)
+		private final Factory<?>            itemFactory;// DataWatcher$Item(DataWatcherObject, Object)
+		private final FieldAccessor<Object> itemValue;
+
+		V1_9() throws ReflectiveOperationException {
+			this.set = MethodInvoker.of(DataWatcher.DataWatcherMethodResolver.resolve("set"));
+			this.get = MethodInvoker.of(DataWatcher.DataWatcherMethodResolver.resolve("get"));
+			this.itemFactory = Factory.of(new ConstructorResolver(DataWatcher.V1_9.DataWatcherItem).resolveFirstConstructor());
+			this.itemValue = FieldAccessor.of(new FieldResolver(DataWatcher.V1_9.DataWatcherItem).resolve("b"));
+		}
+
+		@Override
+		public boolean hasDataWatcherObjects() {
+			return true;
+		}
+
+		@Override
+		public Object newItem(int index, Object dataWatcherObject, Object value) throws ReflectiveOperationException {
+			return itemFactory.create(dataWatcherObject, value);
+		}
+
+		@Override
+		public Object getItemValue(Object item) {
+			return itemValue.get(item);
+		}
+
+		@Override
+		public Object setValue(Object dataWatcher, int index, Object dataWatcherObject, Object value) throws ReflectiveOperationException {
+			set.invoke2(dataWatcher, dataWatcherObject, value);
+			return dataWatcher;
+		}
+
+		@Override
+		public Object getValue(Object dataWatcher, int index, Object dataWatcherObject) throws ReflectiveOperationException {
+			return get.invoke1(dataWatcher, dataWatcherObject);
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+package org.inventivetalent.reflection.minecraft;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * List of DataWatcher updates, applied together to one or several DataWatchers
+ * <p>
+ * Updates are stored in parallel arrays &amp; applied through the {@link DataWatcherAccessor} of the running version,
+ * without resolving anything per update. A batch can be built once &amp; applied to the DataWatchers of many entities.
+ * Batches are not thread-safe.
+ * <pre>
+ * DataWatcherBatch batch = new DataWatcherBatch()
+ *         .set(0, ValueType.ENTITY_FLAG, (byte) 0x20)
+ *         .set(3, ValueType.ENTITY_NAME_VISIBLE, true);
+ * batch.applyTo(dataWatchers);
+ * </pre>
+ */
+public final class DataWatcherBatch {
+
+	private int[]    indices            = new int[4];
+	private Object[] dataWatcherObjects = new Object[4];
+	private Object[] values             = new Object[4];
+	private int      size;
+
+	/**
+	 * Adds an update
+	 *
+	 * @param index             index of the value (&lt; 1.9)
+	 * @param dataWatcherObject key of the value (1.9+)
+	 * @param value             the value
+	 * @return this batch
+	 */
+	public DataWatcherBatch set(int index, Object dataWatcherObject, Object value) {
+		if (size == values.length) {
+			indices = Arrays.copyOf(indices, size * 2);
+			dataWatcherObjects = Arrays.copyOf(dataWatcherObjects, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		indices[size] = index;
+		dataWatcherObjects[size] = dataWatcherObject;
+		values[size] = value;
+		size++;
+		return this;
+	}
+
+	public DataWatcherBatch set(int index, DataWatcher.V1_9.ValueType type, Object value) {
+		return set(index, type.getType(), value);
+	}
+
+	/**
+	 * @return the number of updates
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all the updates
+	 *
+	 * @return this batch
+	 */
+	public DataWatcherBatch clear() {
+		Arrays.fill(dataWatcherObjects, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+		return this;
+	}
+
+	/**
+	 * Sets the values, see {@link DataWatcherAccessor#setValues(Object, int[], Object[], Object[], int)}
+	 *
+	 * @param dataWatcher the DataWatcher
+	 * @return the DataWatcher
+	 * @throws ReflectiveOperationException if a value can't be set
+	 */
+	public Object applyTo(Object dataWatcher) throws ReflectiveOperationException {
+		return DataWatcherAccessor.get().setValues(dataWatcher, indices, dataWatcherObjects, values, size);
+	}
+
+	/**
+	 * Sets the values on several DataWatchers
+	 *
+	 * @param dataWatchers the DataWatchers
+	 * @throws ReflectiveOperationException if a value can't be set
+	 */
+	public void applyTo(Collection<?> dataWatchers) throws ReflectiveOperationException {
+		DataWatcherAccessor accessor = DataWatcherAccessor.get();
+		for (Object dataWatcher : dataWatchers) {
+			accessor.setValues(dataWatcher, indices, dataWatcherObjects, values, size);
+		}
+	}
+
+	/**
+	 * Adds new entries, see {@link DataWatcherAccessor#setItems(Object, int[], Object[], Object[], int)}
+	 *
+	 * @param dataWatcher the DataWatcher
+	 * @return the DataWatcher
+	 * @throws ReflectiveOperationException if an entry can't be created
+	 */
+	public Object addTo(Object dataWatcher) throws ReflectiveOperationException {
+		return DataWatcherAccessor.get().setItems(dataWatcher, indices, dataWatcherObjects, values, size);
+	}
+
+	/**
+	 * Adds new entries to several DataWatchers, every DataWatcher gets its own entries
+	 *
+	 * @param dataWatchers the DataWatchers
+	 * @throws ReflectiveOperationException if an entry can't be created
+	 */
+	public void addTo(Collection<?> dataWatchers) throws ReflectiveOperationException {
+		DataWatcherAccessor accessor = DataWatcherAccessor.get();
+		for (Object dataWatcher : dataWatchers) {
+			accessor.setItems(dataWatcher, indices, dataWatcherObjects, values, size);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DataWatcherBatch{" + size + " updates}";
+	}
+}
@@ -0,0 +1,106 @@
+package org.inventivetalent.reflection.minecraft;
+
+import org.inventivetalent.reflection.accessor.MethodInvoker;
+import org.inventivetalent.reflection.resolver.ResolverQuery;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Index-aware view of the entries of a DataWatcher, stored in a <code>Map</code> or a Trove <code>TIntObjectMap</code>
+ * <p>
+ * {@link #get(int)} reads the entry map directly. {@link #indexOf(Object)} goes through an identity map from entries to
+ * indices, built from the entry map on the first lookup &amp; rebuilt lazily when it is out of date: a hit is checked
+ * against the entry map in constant time, a miss rebuilds it (so looking up entries which are not in the DataWatcher
+ * costs a scan of the entries).
+ */
+public final class DataWatcherIndex {
+
+	private static final Map<Object, DataWatcherIndex> indexes = Collections.synchronizedMap(new WeakHashMap<Object, DataWatcherIndex>());
+
+	private static volatile MethodInvoker troveGet;// TIntObjectMap#get(int)
+	private static volatile MethodInvoker troveKeys;// TIntObjectMap#keys()
+
+	private final Map<Integer, Object> map;// null for a TIntObjectMap
+	private final Object               troveMap;
+
+	private volatile Map<Object, Integer> indices;// Never modified once published
+
+	private DataWatcherIndex(Object items) {
+		this.map = items instanceof Map ? (Map<Integer, Object>) items : null;
+		this.troveMap = items instanceof Map ? null : items;
+	}
+
+	/**
+	 * Returns the (cached) view of a DataWatcher
+	 *
+	 * @param dataWatcher the DataWatcher
+	 * @return the view
+	 * @throws ReflectiveOperationException if the entries of the DataWatcher can't be accessed
+	 */
+	public static DataWatcherIndex of(Object dataWatcher) throws ReflectiveOperationException {
+		DataWatcherIndex index = indexes.get(dataWatcher);
+		if (index == null) {
+			index = new DataWatcherIndex(DataWatcherAccessor.get().getItemStore(dataWatcher));
+			if (index.troveMap != null && troveGet == null) {
+				troveKeys = MethodInvoker.of(DataWatcher.TIntObjectMapMethodResolver.resolve("keys"));
+				troveGet = MethodInvoker.of(DataWatcher.TIntObjectMapMethodResolver.resolve(new ResolverQuery("get", int.class)));
+			}
+			indexes.put(dataWatcher, index);
+		}
+		return index;
+	}
+
+	/**
+	 * @param index index of the entry
+	 * @return the entry (WatchableObject or DataWatcher$Item), <code>null</code> if there is no entry at the index
+	 * @throws ReflectiveOperationException if the TIntObjectMap can't be read
+	 */
+	public Object get(int index) throws ReflectiveOperationException {
+		return map != null ? map.get(index) : troveGet.invoke1(troveMap, index);
+	}
+
+	/**
+	 * @param item an entry (WatchableObject or DataWatcher$Item)
+	 * @return the index of the entry, <code>-1</code> if the entry is not in the DataWatcher
+	 * @throws ReflectiveOperationException if the TIntObjectMap can't be read
+	 */
+	public int indexOf(Object item) throws ReflectiveOperationException {
+		Map<Object, Integer> indices = this.indices;
+		if (indices != null) {
+			Integer index = indices.get(item);
+			if (index != null && get(index) == item) { return index; }
+		}
+		Integer index = rebuild().get(item);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Drops the entry to index map, rebuilt on the next {@link #indexOf(Object)}
+	 */
+	public void invalidate() {
+		indices = null;
+	}
+
+	private Map<Object, Integer> rebuild() throws ReflectiveOperationException {
+		Map<Object, Integer> indices = new IdentityHashMap<>();
+		if (map != null) {
+			for (Map.Entry<Integer, Object> entry : map.entrySet()) {
+				indices.put(entry.getValue(), entry.getKey());
+			}
+		} else {
+			for (int key : (int[]) troveKeys.invoke0(troveMap)) {
+				indices.put(troveGet.invoke1(troveMap, key), key);
+			}
+		}
+		this.indices = indices;
+		return indices;
+	}
+
+	@Override
+	public String toString() {
+		return "DataWatcherIndex{" + (map != null ? "Map" : "TIntObjectMap") + "}";
+	}
+}
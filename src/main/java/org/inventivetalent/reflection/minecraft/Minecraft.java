@@ -2,6 +2,7 @@ package org.inventivetalent.reflection.minecraft;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
+import org.inventivetalent.reflection.accessor.MethodInvoker;
 import org.inventivetalent.reflection.resolver.ConstructorResolver;
 import org.inventivetalent.reflection.resolver.FieldResolver;
 import org.inventivetalent.reflection.resolver.MethodResolver;
@@ -13,6 +14,8 @@ import sun.reflect.ConstructorAccessor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,17 +23,49 @@ import java.util.regex.Pattern;
  * Helper class to access minecraft/bukkit specific objects
  */
 public class Minecraft {
-	static final Pattern NUMERIC_VERSION_PATTERN = Pattern.compile("v([0-9])_([0-9]*)_R([0-9])");
 
+	/**
+	 * The server version, the newest known version not newer than the server if the server version is unknown
+	 */
 	public static final Version VERSION;
+	/**
+	 * Numeric id of the server version (e.g. <code>10803</code>), may be newer than {@link #VERSION}
+	 */
+	public static final int     VERSION_ID;
+	private static final String VERSION_PACKAGE;// <version>
+	private static final String VERSION_PREFIX;// <version>.
 
 	private static NMSClassResolver nmsClassResolver = new NMSClassResolver();
 	private static OBCClassResolver obcClassResolver = new OBCClassResolver();
 	private static Class<?> NmsEntity;
 	private static Class<?> CraftEntity;
 
+	// Invoker of getHandle per concrete class, null if the lookup failed
+	private static final ClassValue<MethodInvoker> handleInvokers = new ClassValue<MethodInvoker>() {
+		@Override
+		protected MethodInvoker computeValue(Class<?> type) {
+			try {
+				return MethodInvoker.of(handleMethod(type));
+			} catch (ReflectiveOperationException e) {
+				return null;
+			}
+		}
+	};
+	private static volatile MethodInvoker bukkitEntityInvoker;
+
 	static {
-		VERSION = Version.getVersion();
+		String packageName = Bukkit.getServer().getClass().getPackage().getName();
+		VERSION_ID = Version.parse(packageName);
+		VERSION = Version.of(VERSION_ID);
+		VERSION_PACKAGE = VERSION_ID < 0 ? VERSION.name() : packageName.substring(packageName.lastIndexOf('.') + 1);
+		VERSION_PREFIX = VERSION_PACKAGE + ".";
+		if (VERSION == Version.UNKNOWN || VERSION.version() != VERSION_ID) {
+			System.err.println("[ReflectionHelper] Failed to find version enum for '" + packageName + "'");
+			if (VERSION != Version.UNKNOWN) {
+				System.out.println("[ReflectionHelper] Using " + VERSION + " for unknown version #" + VERSION_ID + ".");
+				System.out.println("[ReflectionHelper] Please inform inventivetalent about the outdated version, as this is not guaranteed to work.");
+			}
+		}
 		System.out.println("[ReflectionHelper] Version is " + VERSION);
 
 		try {
@@ -45,27 +80,98 @@ public class Minecraft {
 	 * @return the current NMS/OBC version (format <code>&lt;version&gt;.</code>
 	 */
 	public static String getVersion() {
-		return VERSION.name() + ".";
+		return VERSION_PREFIX;
+	}
+
+	/**
+	 * @return the current NMS/OBC version package (format <code>&lt;version&gt;</code>), the name of {@link #VERSION} unless the server version is unknown
+	 */
+	public static String getVersionPackage() {
+		return VERSION_PACKAGE;
 	}
 
 	public static Object getHandle(Object object) throws ReflectiveOperationException {
-		Method method;
-		try {
-			method = AccessUtil.setAccessible(object.getClass().getDeclaredMethod("getHandle"));
-		} catch (ReflectiveOperationException e) {
-			method = AccessUtil.setAccessible(CraftEntity.getDeclaredMethod("getHandle"));
-		}
-		return method.invoke(object);
+		MethodInvoker invoker = handleInvokers.get(object.getClass());
+		if (invoker == null) { invoker = MethodInvoker.of(handleMethod(object.getClass())); }// Throws the lookup exception
+		return invoker.invoke0(object);
 	}
 
 	public static Entity getBukkitEntity(Object object) throws ReflectiveOperationException {
-		Method method;
+		return (Entity) bukkitEntityInvoker().invoke0(object);
+	}
+
+	/**
+	 * Gets the handles of entities, the accessor is looked up once per entity class
+	 *
+	 * @param entities the entities
+	 * @param handles  the array to fill, a new array is allocated if it is too small (like {@link Collection#toArray(Object[])})
+	 * @return the handles, in iteration order
+	 * @throws ReflectiveOperationException if a handle can't be accessed
+	 */
+	public static Object[] getHandles(Collection<? extends Entity> entities, Object[] handles) throws ReflectiveOperationException {
+		if (handles.length < entities.size()) { handles = new Object[entities.size()]; }
+		Class<?> lastClass = null;
+		MethodInvoker invoker = null;
+		int i = 0;
+		for (Entity entity : entities) {
+			if (entity.getClass() != lastClass) {// Entities of a batch mostly share a few classes
+				lastClass = entity.getClass();
+				invoker = handleInvokers.get(lastClass);
+				if (invoker == null) { invoker = MethodInvoker.of(handleMethod(lastClass)); }
+			}
+			handles[i++] = invoker.invoke0(entity);
+		}
+		if (i < handles.length) { handles[i] = null; }
+		return handles;
+	}
+
+	public static Object[] getHandles(Collection<? extends Entity> entities) throws ReflectiveOperationException {
+		return getHandles(entities, new Object[entities.size()]);
+	}
+
+	/**
+	 * Gets the bukkit entities of NMS entities
+	 *
+	 * @param handles  the NMS entities
+	 * @param entities the array to fill, a new array is allocated if it is too small (like {@link Collection#toArray(Object[])})
+	 * @return the bukkit entities, in iteration order
+	 * @throws ReflectiveOperationException if an entity can't be accessed
+	 */
+	public static Entity[] getBukkitEntities(Collection<?> handles, Entity[] entities) throws ReflectiveOperationException {
+		if (entities.length < handles.size()) { entities = new Entity[handles.size()]; }
+		MethodInvoker invoker = bukkitEntityInvoker();
+		int i = 0;
+		for (Object handle : handles) {
+			entities[i++] = (Entity) invoker.invoke0(handle);
+		}
+		if (i < entities.length) { entities[i] = null; }
+		return entities;
+	}
+
+	public static Entity[] getBukkitEntities(Collection<?> handles) throws ReflectiveOperationException {
+		return getBukkitEntities(handles, new Entity[handles.size()]);
+	}
+
+	private static Method handleMethod(Class<?> clazz) throws ReflectiveOperationException {
 		try {
-			method = AccessUtil.setAccessible(NmsEntity.getDeclaredMethod("getBukkitEntity"));
+			return AccessUtil.setAccessible(clazz.getDeclaredMethod("getHandle"));
 		} catch (ReflectiveOperationException e) {
-			method = AccessUtil.setAccessible(CraftEntity.getDeclaredMethod("getHandle"));
+			return AccessUtil.setAccessible(CraftEntity.getDeclaredMethod("getHandle"));
 		}
-		return (Entity) method.invoke(object);
+	}
+
+	private static MethodInvoker bukkitEntityInvoker() throws ReflectiveOperationException {
+		MethodInvoker invoker = bukkitEntityInvoker;
+		if (invoker == null) {
+			Method method;
+			try {
+				method = AccessUtil.setAccessible(NmsEntity.getDeclaredMethod("getBukkitEntity"));
+			} catch (ReflectiveOperationException e) {
+				method = AccessUtil.setAccessible(CraftEntity.getDeclaredMethod("getHandle"));
+			}
+			bukkitEntityInvoker = invoker = MethodInvoker.of(method);
+		}
+		return invoker;
 	}
 
 	public static Object getHandleSilent(Object object) {
@@ -107,7 +213,10 @@ public class Minecraft {
 		v1_13_R1(11301),
 		v1_13_R2(11302);
 
-		private int version;
+		private static final Pattern   NUMERIC_VERSION_PATTERN = Pattern.compile("v([0-9]+)_([0-9]+)_R([0-9]+)");
+		private static final Version[] KNOWN                   = Arrays.copyOfRange(values(), 1, values().length);// Sorted by version, without UNKNOWN
+
+		private final int version;
 
 		Version(int version) {
 			this.version = version;
@@ -149,54 +258,44 @@ public class Minecraft {
 			return packageName.toLowerCase().contains(name().toLowerCase());
 		}
 
+		/**
+		 * @return the version of the server
+		 */
 		public static Version getVersion() {
-			String name = Bukkit.getServer().getClass().getPackage().getName();
-			String versionPackage = name.substring(name.lastIndexOf('.') + 1) + ".";
-			for (Version version : values()) {
-				if (version.matchesPackageName(versionPackage)) { return version; }
-			}
-			System.err.println("[ReflectionHelper] Failed to find version enum for '" + name + "'/'" + versionPackage + "'");
-
-			System.out.println("[ReflectionHelper] Generating dynamic constant...");
-			Matcher matcher = NUMERIC_VERSION_PATTERN.matcher(versionPackage);
-			while (matcher.find()) {
-				if (matcher.groupCount() < 3) { continue; }
-
-				String majorString = matcher.group(1);
-				String minorString = matcher.group(2);
-				if (minorString.length() == 1) { minorString = "0" + minorString; }
-				String patchString = matcher.group(3);
-				if (patchString.length() == 1) { patchString = "0" + patchString; }
-
-				String numVersionString = majorString + minorString + patchString;
-				int numVersion = Integer.parseInt(numVersionString);
-				String packge = versionPackage.substring(0, versionPackage.length() - 1);
-
-				try {
-					// Add enum value
-					Field valuesField = new FieldResolver(Version.class).resolve("$VALUES");
-					Version[] oldValues = (Version[]) valuesField.get(null);
-					Version[] newValues = new Version[oldValues.length + 1];
-					System.arraycopy(oldValues, 0, newValues, 0, oldValues.length);
-					Version dynamicVersion = (Version) newEnumInstance(Version.class, new Class[] {
-							String.class,
-							int.class,
-							int.class }, new Object[] {
-							packge,
-							newValues.length - 1,
-							numVersion });
-					newValues[newValues.length - 1] = dynamicVersion;
-					valuesField.set(null, newValues);
-
-					System.out.println("[ReflectionHelper] Injected dynamic version " + packge + " (#" + numVersion + ").");
-					System.out.println("[ReflectionHelper] Please inform inventivetalent about the outdated version, as this is not guaranteed to work.");
-					return dynamicVersion;
-				} catch (ReflectiveOperationException e) {
-					e.printStackTrace();
+			return Minecraft.VERSION;
+		}
+
+		/**
+		 * Parses the version of a versioned package
+		 *
+		 * @param packageName name of the package (e.g. <code>org.bukkit.craftbukkit.v1_8_R3</code>)
+		 * @return the version id (e.g. <code>10803</code>), <code>-1</code> if the package is not versioned
+		 */
+		public static int parse(String packageName) {
+			Matcher matcher = NUMERIC_VERSION_PATTERN.matcher(packageName);
+			if (!matcher.find()) { return -1; }
+			return Integer.parseInt(matcher.group(1)) * 10000 + Integer.parseInt(matcher.group(2)) * 100 + Integer.parseInt(matcher.group(3));
+		}
+
+		/**
+		 * @param id a version id
+		 * @return the newest known version not newer than the id, {@link #UNKNOWN} if the id is older than all known versions
+		 */
+		public static Version of(int id) {
+			Version[] known = KNOWN;
+			int low = 0;
+			int high = known.length - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				if (known[middle].version < id) {
+					low = middle + 1;
+				} else if (known[middle].version > id) {
+					high = middle - 1;
+				} else {
+					return known[middle];
 				}
 			}
-
-			return UNKNOWN;
+			return high < 0 ? UNKNOWN : known[high];
 		}
 
 		@Override
@@ -205,6 +304,10 @@ public class Minecraft {
 		}
 	}
 
+	/**
+	 * @deprecated unknown versions are mapped to the closest known {@link Version}, enum constants are no longer injected
+	 */
+	@Deprecated
 	public static Object newEnumInstance(Class clazz, Class[] types, Object[] values) throws ReflectiveOperationException {
 		Constructor constructor = new ConstructorResolver(clazz).resolve(types);
 		Field accessorField = new FieldResolver(Constructor.class).resolve("constructorAccessor");
@@ -0,0 +1,98 @@
+package org.inventivetalent.reflection.minecraft;
+
+import java.util.Arrays;
+
+/**
+ * Value which depends on the server version, e.g. the name of a member or the strategy used to access it
+ * <p>
+ * Values are registered for the version they were introduced in: the value of a version is the one registered for the
+ * newest version which is not newer, or the base value. The value of the server version is picked on the first call to
+ * {@link #get()}, so later calls don't branch on the version. Instances are immutable.
+ * <pre>
+ * static final VersionedValue&lt;String&gt; ITEM = VersionedValue.of("WatchableObject").since(Version.v1_9_R1, "DataWatcher$Item");
+ * </pre>
+ *
+ * @param <T> type of the value
+ */
+public final class VersionedValue<T> {
+
+	private static final Object UNRESOLVED = new Object();
+
+	private final int[]    versions;// Ascending
+	private final Object[] values;
+
+	private volatile Object current = UNRESOLVED;
+
+	private VersionedValue(int[] versions, Object[] values) {
+		this.versions = versions;
+		this.values = values;
+	}
+
+	/**
+	 * @param value value for all versions
+	 * @param <T>   type of the value
+	 * @return the versioned value
+	 */
+	public static <T> VersionedValue<T> of(T value) {
+		return new VersionedValue<>(new int[] { Integer.MIN_VALUE }, new Object[] { value });
+	}
+
+	/**
+	 * @param version first version of the value
+	 * @param value   the value
+	 * @return a copy of this versioned value with the value registered for the version &amp; newer ones
+	 */
+	public VersionedValue<T> since(Minecraft.Version version, T value) {
+		int index = Arrays.binarySearch(versions, version.version());
+		if (index >= 0) {
+			Object[] values = this.values.clone();
+			values[index] = value;
+			return new VersionedValue<>(versions, values);
+		}
+		index = -index - 1;
+		int[] versions = new int[this.versions.length + 1];
+		Object[] values = new Object[versions.length];
+		System.arraycopy(this.versions, 0, versions, 0, index);
+		System.arraycopy(this.values, 0, values, 0, index);
+		versions[index] = version.version();
+		values[index] = value;
+		System.arraycopy(this.versions, index, versions, index + 1, this.versions.length - index);
+		System.arraycopy(this.values, index, values, index + 1, this.values.length - index);
+		return new VersionedValue<>(versions, values);
+	}
+
+	/**
+	 * @return the value for the server version ({@link Minecraft#VERSION_ID})
+	 */
+	public T get() {
+		Object current = this.current;
+		if (current == UNRESOLVED) {
+			this.current = current = get(Minecraft.VERSION_ID);
+		}
+		return (T) current;
+	}
+
+	/**
+	 * @param version the version
+	 * @return the value for the version
+	 */
+	public T get(Minecraft.Version version) {
+		return get(version.version());
+	}
+
+	private T get(int version) {
+		int index = Arrays.binarySearch(versions, version);
+		if (index < 0) { index = -index - 2; }// Newest registered version older than the version
+		return (T) values[index];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("VersionedValue{");
+		for (int i = 0; i < versions.length; i++) {
+			if (i > 0) { builder.append(", "); }
+			builder.append(versions[i] == Integer.MIN_VALUE ? "*" : String.valueOf(versions[i])).append("=").append(values[i]);
+		}
+		return builder.append("}").toString();
+	}
+}
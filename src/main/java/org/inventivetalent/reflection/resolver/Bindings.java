@@ -0,0 +1,118 @@
+package org.inventivetalent.reflection.resolver;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of a {@link ResolverSchema}, addressed by the slots returned when declaring the requirements
+ */
+public final class Bindings {
+
+	private final int[]    kinds;
+	private final Object[] values;
+	private final String[] failures;// null if the slot was resolved
+
+	Bindings(int[] kinds, Object[] values, String[] failures) {
+		this.kinds = kinds;
+		this.values = values;
+		this.failures = failures;
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * @param slot slot of the requirement
+	 * @return <code>true</code> if the requirement was resolved
+	 */
+	public boolean isResolved(int slot) {
+		return failures[slot] == null;
+	}
+
+	/**
+	 * @param slot slot of the requirement
+	 * @return the resolved class or member, <code>null</code> if it could not be resolved
+	 */
+	public Object get(int slot) {
+		return values[slot];
+	}
+
+	public Class<?> getType(int slot) {
+		return (Class<?>) get(slot, ResolverSchema.TYPE);
+	}
+
+	public Field getField(int slot) {
+		return (Field) get(slot, ResolverSchema.FIELD);
+	}
+
+	/**
+	 * @param slot slot of a method, declared by name or by signature
+	 * @return the resolved method, or <code>null</code>
+	 */
+	public Method getMethod(int slot) {
+		if (kinds[slot] == ResolverSchema.SIGNATURE) { return (Method) values[slot]; }
+		return (Method) get(slot, ResolverSchema.METHOD);
+	}
+
+	public Constructor<?> getConstructor(int slot) {
+		return (Constructor<?>) get(slot, ResolverSchema.CONSTRUCTOR);
+	}
+
+	/**
+	 * @param slot slot of the requirement
+	 * @return the failure message of the requirement, <code>null</code> if it was resolved
+	 */
+	public String getFailure(int slot) {
+		return failures[slot];
+	}
+
+	/**
+	 * @return <code>true</code> if at least one requirement could not be resolved
+	 */
+	public boolean hasFailures() {
+		for (String failure : failures) {
+			if (failure != null) { return true; }
+		}
+		return false;
+	}
+
+	/**
+	 * @return the failure messages of all the requirements that could not be resolved, in declaration order
+	 */
+	public List<String> getFailures() {
+		List<String> list = new ArrayList<>();
+		for (String failure : failures) {
+			if (failure != null) { list.add(failure); }
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Checks that every requirement was resolved
+	 *
+	 * @throws ReflectiveOperationException listing all the requirements that could not be resolved
+	 */
+	public void checkResolved() throws ReflectiveOperationException {
+		List<String> failures = getFailures();
+		if (failures.isEmpty()) { return; }
+		StringBuilder message = new StringBuilder().append(failures.size()).append(" requirement(s) could not be resolved:");
+		for (String failure : failures) {
+			message.append("\n - ").append(failure);
+		}
+		throw new ReflectiveOperationException(message.toString());
+	}
+
+	private Object get(int slot, int kind) {
+		if (kinds[slot] != kind) { throw new IllegalArgumentException("Slot " + slot + " is a " + ResolverSchema.KIND_NAMES[kinds[slot]] + ", not a " + ResolverSchema.KIND_NAMES[kind]); }
+		return values[slot];
+	}
+
+}
@@ -2,29 +2,36 @@ package org.inventivetalent.reflection.resolver;
 
 import org.inventivetalent.reflection.resolver.wrapper.ClassWrapper;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Default {@link ClassResolver}
+ * <p>
+ * Classes that could not be found are only remembered for {@link #DEFAULT_MISS_TIME_TO_LIVE} seconds, since they may
+ * become available once another plugin is loaded.
  */
 public class ClassResolver extends ResolverAbstract<Class> {
 
+	/**
+	 * Default number of seconds a missing class is remembered
+	 */
+	public static final long DEFAULT_MISS_TIME_TO_LIVE = 30;
+
+	public ClassResolver() {
+		setMissTimeToLive(DEFAULT_MISS_TIME_TO_LIVE, TimeUnit.SECONDS);
+	}
+
 	public ClassWrapper resolveWrapper(String... names) {
 		return new ClassWrapper<>(resolveSilent(names));
 	}
 
 	public Class resolveSilent(String... names) {
-		try {
-			return resolve(names);
-		} catch (Exception e) {
-		}
-		return null;
+		return super.resolveSilent(toQueries(names));
 	}
 
 	public Class resolve(String... names) throws ClassNotFoundException {
-		ResolverQuery.Builder builder = ResolverQuery.builder();
-		for (String name : names)
-			builder.with(name);
 		try {
-			return super.resolve(builder.build());
+			return super.resolve(toQueries(names));
 		} catch (ReflectiveOperationException e) {
 			throw (ClassNotFoundException) e;
 		}
@@ -20,16 +20,13 @@ public class ConstructorResolver extends MemberResolver<Constructor> {
 
 	@Override
 	public Constructor resolveIndex(int index) throws IndexOutOfBoundsException, ReflectiveOperationException {
-		return AccessUtil.setAccessible(this.clazz.getDeclaredConstructors()[index]);
+		return AccessUtil.setAccessible(this.index.constructor(index));
 	}
 
 	@Override
 	public Constructor resolveIndexSilent(int index) {
-		try {
-			return resolveIndex(index);
-		} catch (IndexOutOfBoundsException | ReflectiveOperationException ignored) {
-		}
-		return null;
+		if (index < 0 || index >= this.index.constructorCount()) { return null; }
+		return AccessUtil.setAccessibleSilent(this.index.constructor(index));
 	}
 
 	@Override
@@ -42,19 +39,12 @@ public class ConstructorResolver extends MemberResolver<Constructor> {
 	}
 
 	public Constructor resolveSilent(Class<?>[]... types) {
-		try {
-			return resolve(types);
-		} catch (Exception e) {
-		}
-		return null;
+		return super.resolveSilent(toQueries(types));
 	}
 
 	public Constructor resolve(Class<?>[]... types) throws NoSuchMethodException {
-		ResolverQuery.Builder builder = ResolverQuery.builder();
-		for (Class<?>[] type : types)
-			builder.with(type);
 		try {
-			return super.resolve(builder.build());
+			return super.resolve(toQueries(types));
 		} catch (ReflectiveOperationException e) {
 			throw (NoSuchMethodException) e;
 		}
@@ -62,39 +52,43 @@ public class ConstructorResolver extends MemberResolver<Constructor> {
 
 	@Override
 	protected Constructor resolveObject(ResolverQuery query) throws ReflectiveOperationException {
-		return AccessUtil.setAccessible(this.clazz.getDeclaredConstructor(query.getTypes()));
+		Constructor constructor = this.index.constructor(query.getTypes());
+		if (constructor == null) { throw new NoSuchMethodException(); }
+		return AccessUtil.setAccessible(constructor);
+	}
+
+	@Override
+	protected Constructor findObject(ResolverQuery query) {
+		Constructor constructor = this.index.constructor(query.getTypes());
+		return constructor != null ? AccessUtil.setAccessibleSilent(constructor) : null;
 	}
 
 	public Constructor resolveFirstConstructor() throws ReflectiveOperationException {
-		for (Constructor constructor : this.clazz.getDeclaredConstructors()) {
-			return AccessUtil.setAccessible(constructor);
-		}
+		if (this.index.constructorCount() > 0) { return AccessUtil.setAccessible(this.index.constructor(0)); }
 		return null;
 	}
 
 	public Constructor resolveFirstConstructorSilent() {
-		try {
-			return resolveFirstConstructor();
-		} catch (Exception e) {
-		}
-		return null;
+		return this.index.constructorCount() > 0 ? AccessUtil.setAccessibleSilent(this.index.constructor(0)) : null;
 	}
 
 	public Constructor resolveLastConstructor() throws ReflectiveOperationException {
-		Constructor constructor = null;
-		for (Constructor constructor1 : this.clazz.getDeclaredConstructors()) {
-			constructor = constructor1;
-		}
-		if (constructor != null) { return AccessUtil.setAccessible(constructor); }
+		int count = this.index.constructorCount();
+		if (count > 0) { return AccessUtil.setAccessible(this.index.constructor(count - 1)); }
 		return null;
 	}
 
 	public Constructor resolveLastConstructorSilent() {
-		try {
-			return resolveLastConstructor();
-		} catch (Exception e) {
+		int count = this.index.constructorCount();
+		return count > 0 ? AccessUtil.setAccessibleSilent(this.index.constructor(count - 1)) : null;
+	}
+
+	private static ResolverQuery[] toQueries(Class<?>[][] types) {
+		ResolverQuery[] queries = new ResolverQuery[types.length];
+		for (int i = 0; i < types.length; i++) {
+			queries[i] = new ResolverQuery(types[i]);
 		}
-		return null;
+		return queries;
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package org.inventivetalent.reflection.resolver;
 
+import org.inventivetalent.reflection.accessor.FieldAccessor;
 import org.inventivetalent.reflection.resolver.wrapper.FieldWrapper;
 import org.inventivetalent.reflection.util.AccessUtil;
 
@@ -20,16 +21,13 @@ public class FieldResolver extends MemberResolver<Field> {
 
 	@Override
 	public Field resolveIndex(int index) throws IndexOutOfBoundsException, ReflectiveOperationException {
-		return AccessUtil.setAccessible(this.clazz.getDeclaredFields()[index]);
+		return AccessUtil.setAccessible(this.index.field(index));
 	}
 
 	@Override
 	public Field resolveIndexSilent(int index) {
-		try {
-			return resolveIndex(index);
-		} catch (IndexOutOfBoundsException | ReflectiveOperationException ignored) {
-		}
-		return null;
+		if (index < 0 || index >= this.index.fieldCount()) { return null; }
+		return AccessUtil.setAccessibleSilent(this.index.field(index));
 	}
 
 	@Override
@@ -41,31 +39,40 @@ public class FieldResolver extends MemberResolver<Field> {
 		return new FieldWrapper<>(resolveSilent(names));
 	}
 
+	/**
+	 * Resolves a field to a typed accessor, see {@link FieldAccessor}
+	 *
+	 * @param names possible names of the field
+	 * @param <T>   field type
+	 * @return the accessor of the field
+	 * @throws NoSuchFieldException if none of the names could be resolved
+	 */
+	public <T> FieldAccessor<T> resolveAccessor(String... names) throws NoSuchFieldException {
+		return FieldAccessor.of(resolve(names));
+	}
+
+	/**
+	 * Same as {@link #resolveAccessor(String...)} but throws no exceptions
+	 *
+	 * @param names possible names of the field
+	 * @param <T>   field type
+	 * @return the accessor of the field, or <code>null</code>
+	 */
+	public <T> FieldAccessor<T> resolveAccessorSilent(String... names) {
+		Field field = resolveSilent(names);
+		return field != null ? FieldAccessor.<T>of(field) : null;
+	}
+
 	public Field resolveSilent(String... names) {
-		try {
-			return resolve(names);
-		} catch (Exception e) {
-		}
-		return null;
+		return super.resolveSilent(toQueries(names));
 	}
 
 	public Field resolve(String... names) throws NoSuchFieldException {
-		ResolverQuery.Builder builder = ResolverQuery.builder();
-		for (String name : names)
-			builder.with(name);
-		try {
-			return super.resolve(builder.build());
-		} catch (ReflectiveOperationException e) {
-			throw (NoSuchFieldException) e;
-		}
+		return resolve(toQueries(names));
 	}
 
 	public Field resolveSilent(ResolverQuery... queries) {
-		try {
-			return resolve(queries);
-		} catch (Exception e) {
-		}
-		return null;
+		return super.resolveSilent(queries);
 	}
 
 	public Field resolve(ResolverQuery... queries) throws NoSuchFieldException {
@@ -78,17 +85,23 @@ public class FieldResolver extends MemberResolver<Field> {
 
 	@Override
 	protected Field resolveObject(ResolverQuery query) throws ReflectiveOperationException {
-		if (query.getTypes() == null || query.getTypes().length == 0) {
-			return AccessUtil.setAccessible(this.clazz.getDeclaredField(query.getName()));
-		} else {
-			for (Field field : this.clazz.getDeclaredFields()) {
-				if (field.getName().equals(query.getName())) {
-					for (Class type : query.getTypes()) {
-						if (field.getType().equals(type)) {
-							return field;
-						}
-					}
-				}
+		Field field = findField(query);
+		if (field == null) { throw new NoSuchFieldException(query.getName()); }
+		return AccessUtil.setAccessible(field);
+	}
+
+	@Override
+	protected Field findObject(ResolverQuery query) {
+		Field field = findField(query);
+		return field != null ? AccessUtil.setAccessibleSilent(field) : null;
+	}
+
+	private Field findField(ResolverQuery query) {
+		Field field = this.index.field(query.getName());
+		if (field == null || query.getTypes() == null || query.getTypes().length == 0) { return field; }
+		for (Class type : query.getTypes()) {
+			if (field.getType().equals(type)) {
+				return field;
 			}
 		}
 		return null;
@@ -103,10 +116,9 @@ public class FieldResolver extends MemberResolver<Field> {
 	 * @see #resolveByLastType(Class)
 	 */
 	public Field resolveByFirstType(Class<?> type) throws ReflectiveOperationException {
-		for (Field field : this.clazz.getDeclaredFields()) {
-			if (field.getType().equals(type)) {
-				return AccessUtil.setAccessible(field);
-			}
+		Field field = this.index.firstField(type);
+		if (field != null) {
+			return AccessUtil.setAccessible(field);
 		}
 		throw new NoSuchFieldException("Could not resolve field of type '" + type.toString() + "' in class " + this.clazz);
 	}
@@ -119,11 +131,8 @@ public class FieldResolver extends MemberResolver<Field> {
 	 * @see #resolveByLastTypeSilent(Class)
 	 */
 	public Field resolveByFirstTypeSilent(Class<?> type) {
-		try {
-			return resolveByFirstType(type);
-		} catch (Exception e) {
-		}
-		return null;
+		Field field = this.index.firstField(type);
+		return field != null ? AccessUtil.setAccessibleSilent(field) : null;
 	}
 
 	/**
@@ -135,22 +144,14 @@ public class FieldResolver extends MemberResolver<Field> {
 	 * @see #resolveByFirstType(Class)
 	 */
 	public Field resolveByLastType(Class<?> type) throws ReflectiveOperationException {
-		Field field = null;
-		for (Field field1 : this.clazz.getDeclaredFields()) {
-			if (field1.getType().equals(type)) {
-				field = field1;
-			}
-		}
+		Field field = this.index.lastField(type);
 		if (field == null) { throw new NoSuchFieldException("Could not resolve field of type '" + type.toString() + "' in class " + this.clazz); }
 		return AccessUtil.setAccessible(field);
 	}
 
 	public Field resolveByLastTypeSilent(Class<?> type) {
-		try {
-			return resolveByLastType(type);
-		} catch (Exception e) {
-		}
-		return null;
+		Field field = this.index.lastField(type);
+		return field != null ? AccessUtil.setAccessibleSilent(field) : null;
 	}
 
 	@Override
@@ -0,0 +1,562 @@
+package org.inventivetalent.reflection.resolver;
+
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper;
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper.MethodSignature;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of the declared members of a class, built lazily once per class.
+ * <p>
+ * Every <code>getDeclared*</code> call copies the whole member array, which adds up on classes with hundreds of
+ * members. The index takes a single snapshot of each member kind and builds hash tables on top of it, so the resolvers
+ * can answer name, type &amp; signature queries with a lookup instead of a linear scan. The signatures of the methods
+ * are computed once too, wildcard signatures are matched against them without allocating. Members are kept in their
+ * declaration order, so ordinal based queries ({@link MemberResolver#resolveIndex(int)}, first/last of a type) see
+ * the same order as before.
+ * <p>
+ * The indexed members are never handed out: every member returned by the index is a copy, like the ones returned by
+ * <code>getDeclared*</code>, so callers can make it accessible without changing it for other callers.
+ */
+public final class MemberIndex {
+
+	private static final ClassValue<MemberIndex> indexes = new ClassValue<MemberIndex>() {
+		@Override
+		protected MemberIndex computeValue(Class<?> type) {
+			return new MemberIndex(type);
+		}
+	};
+
+	private static final Method[] NO_METHODS  = new Method[0];
+	private static final Field[]  NO_FIELDS   = new Field[0];
+	private static final int[]    NO_ORDINALS = new int[0];
+
+	private final Class<?> clazz;
+
+	// Lazily built tables, built once under the lock
+	private volatile MethodTable      methodTable;
+	private volatile SignatureTable   signatureTable;
+	private volatile FieldTable       fieldTable;
+	private volatile Constructor<?>[] constructors;
+
+	private MemberIndex(Class<?> clazz) {
+		this.clazz = clazz;
+	}
+
+	/**
+	 * @param clazz the class to index
+	 * @return the (shared) index of the class
+	 */
+	public static MemberIndex of(Class<?> clazz) {
+		if (clazz == null) { throw new IllegalArgumentException("class cannot be null"); }
+		return indexes.get(clazz);
+	}
+
+	/**
+	 * Drops the index of a class, the next lookup indexes it again
+	 *
+	 * @param clazz class to invalidate
+	 */
+	public static void invalidate(Class<?> clazz) {
+		indexes.remove(clazz);
+	}
+
+	public Class<?> getIndexedClass() {
+		return clazz;
+	}
+
+	//// Methods
+
+	/**
+	 * @return the declared methods, in declaration order
+	 */
+	public Method[] methods() {
+		return copyAll(methodTable().methods);
+	}
+
+	/**
+	 * @param ordinal position of the method
+	 * @return the declared method at that position
+	 * @throws IndexOutOfBoundsException if there is no method at that position
+	 */
+	public Method method(int ordinal) {
+		return copy(methodTable().methods[ordinal]);
+	}
+
+	/**
+	 * @return the number of declared methods
+	 */
+	public int methodCount() {
+		return methodTable().methods.length;
+	}
+
+	/**
+	 * @param name name of the methods
+	 * @return the declared methods with that name, in declaration order
+	 */
+	public Method[] methods(String name) {
+		Method[] methods = methodTable().byName.get(name);
+		return methods != null ? copy(methods) : NO_METHODS;
+	}
+
+	/**
+	 * @param name  name of the method
+	 * @param arity number of parameters
+	 * @return the first declared method with that name &amp; number of parameters, or <code>null</code>
+	 */
+	public Method method(String name, int arity) {
+		Method[] methods = methodTable().byName.get(name);
+		if (methods == null) { return null; }
+		for (Method method : methods) {
+			if (method.getParameterCount() == arity) { return copy(method); }
+		}
+		return null;
+	}
+
+	/**
+	 * @param name  name of the method
+	 * @param types parameter types, an empty array matches the first method with that name
+	 * @return the first declared method with that name &amp; parameter types, or <code>null</code>
+	 */
+	public Method method(String name, Class<?>[] types) {
+		Method[] methods = methodTable().byName.get(name);
+		if (methods == null) { return null; }
+		if (types == null || types.length == 0) { return copy(methods[0]); }
+		for (Method method : methods) {
+			if (method.getParameterCount() == types.length && MethodResolver.ClassListEqual(types, method.getParameterTypes())) { return copy(method); }
+		}
+		return null;
+	}
+
+	/**
+	 * @param signature signature as generated by {@link MethodWrapper#getMethodSignature(Method)}
+	 * @return position of the first declared method with that signature, or <code>-1</code>
+	 */
+	public int methodOrdinal(String signature) {
+		Integer ordinal = signatureTable().ordinals.get(signature);
+		return ordinal != null ? ordinal : -1;
+	}
+
+	/**
+	 * @param pattern signature, can contain wildcards
+	 * @return position of the first declared method matching the signature, or <code>-1</code>
+	 */
+	public int methodOrdinal(MethodSignature pattern) {
+		SignatureTable table = signatureTable();
+		if (!pattern.hasWildcards()) {
+			Integer ordinal = table.ordinals.get(pattern.getSignature());
+			return ordinal != null ? ordinal : -1;
+		}
+		MethodSignature[] signatures = table.signatures;
+		for (int ordinal : table.candidates(pattern)) {
+			if (pattern.matches(signatures[ordinal])) { return ordinal; }
+		}
+		return -1;
+	}
+
+	/**
+	 * @param pattern signature, can contain wildcards
+	 * @return positions of all the declared methods matching the signature, in declaration order
+	 */
+	public int[] methodOrdinals(MethodSignature pattern) {
+		SignatureTable table = signatureTable();
+		int[] candidates = table.candidates(pattern);
+		int[] ordinals = new int[candidates.length];
+		int count = 0;
+		for (int ordinal : candidates) {
+			if (pattern.matches(table.signatures[ordinal])) { ordinals[count++] = ordinal; }
+		}
+		return count == ordinals.length ? ordinals : Arrays.copyOf(ordinals, count);
+	}
+
+	/**
+	 * @return the signatures of the declared methods (with simple class names), in declaration order
+	 */
+	public MethodSignature[] signatures() {
+		return signatureTable().signatures.clone();
+	}
+
+	/**
+	 * @param signature signature as generated by {@link MethodWrapper#getMethodSignature(Method)}
+	 * @return the first declared method with that signature, or <code>null</code>
+	 */
+	public Method methodBySignature(String signature) {
+		int ordinal = methodOrdinal(signature);
+		return ordinal >= 0 ? method(ordinal) : null;
+	}
+
+	//// Fields
+
+	/**
+	 * @return the declared fields, in declaration order
+	 */
+	public Field[] fields() {
+		return copyAll(fieldTable().fields);
+	}
+
+	/**
+	 * @param ordinal position of the field
+	 * @return the declared field at that position
+	 * @throws IndexOutOfBoundsException if there is no field at that position
+	 */
+	public Field field(int ordinal) {
+		return copy(fieldTable().fields[ordinal]);
+	}
+
+	/**
+	 * @return the number of declared fields
+	 */
+	public int fieldCount() {
+		return fieldTable().fields.length;
+	}
+
+	/**
+	 * @param name name of the field
+	 * @return the declared field with that name, or <code>null</code>
+	 */
+	public Field field(String name) {
+		Field field = fieldTable().byName.get(name);
+		return field != null ? copy(field) : null;
+	}
+
+	/**
+	 * @param type type of the fields
+	 * @return the declared fields of exactly that type, in declaration order
+	 */
+	public Field[] fields(Class<?> type) {
+		Field[] fields = fieldTable().byType.get(type);
+		return fields != null ? copy(fields) : NO_FIELDS;
+	}
+
+	/**
+	 * @param type type of the field
+	 * @return the first declared field of exactly that type, or <code>null</code>
+	 */
+	public Field firstField(Class<?> type) {
+		Field[] fields = fieldTable().byType.get(type);
+		return fields != null ? copy(fields[0]) : null;
+	}
+
+	/**
+	 * @param type type of the field
+	 * @return the last declared field of exactly that type, or <code>null</code>
+	 */
+	public Field lastField(Class<?> type) {
+		Field[] fields = fieldTable().byType.get(type);
+		return fields != null ? copy(fields[fields.length - 1]) : null;
+	}
+
+	//// Constructors
+
+	/**
+	 * @return the declared constructors, in declaration order
+	 */
+	public Constructor<?>[] constructors() {
+		return copyAll(constructorTable());
+	}
+
+	/**
+	 * @param ordinal position of the constructor
+	 * @return the declared constructor at that position
+	 * @throws IndexOutOfBoundsException if there is no constructor at that position
+	 */
+	public Constructor<?> constructor(int ordinal) {
+		return copy(constructorTable()[ordinal]);
+	}
+
+	/**
+	 * @return the number of declared constructors
+	 */
+	public int constructorCount() {
+		return constructorTable().length;
+	}
+
+	/**
+	 * @param types parameter types
+	 * @return the declared constructor with these parameter types, or <code>null</code>
+	 */
+	public Constructor<?> constructor(Class<?>[] types) {
+		Class<?>[] parameterTypes = types != null ? types : new Class<?>[0];
+		for (Constructor<?> constructor : constructorTable()) {
+			if (constructor.getParameterCount() == parameterTypes.length && MethodResolver.ClassListEqual(parameterTypes, constructor.getParameterTypes())) { return copy(constructor); }
+		}
+		return null;
+	}
+
+	//// Indexed members, for reads within this package only (e.g. to check a member before copying it)
+
+	Field indexedField(int ordinal) {
+		return fieldTable().fields[ordinal];
+	}
+
+	Method indexedMethod(int ordinal) {
+		return methodTable().methods[ordinal];
+	}
+
+	Constructor<?> indexedConstructor(int ordinal) {
+		return constructorTable()[ordinal];
+	}
+
+	/**
+	 * @param member a member declared by the indexed class
+	 * @return position of the member in the declared members of its kind, or <code>-1</code>
+	 */
+	int ordinal(Member member) {
+		Object[] members = member instanceof Field ? fieldTable().fields : member instanceof Method ? methodTable().methods : constructorTable();
+		for (int i = 0; i < members.length; i++) {
+			if (members[i].equals(member)) { return i; }
+		}
+		return -1;
+	}
+
+	//// Copies
+
+	// The indexed members are never handed out: setAccessible (and the final modifier removal of AccessUtil) would
+	// change them for every caller. Copies are made through the getDeclared* methods, like Class does.
+
+	private static Field copy(Field field) {
+		try {
+			return field.getDeclaringClass().getDeclaredField(field.getName());
+		} catch (NoSuchFieldException e) {
+			throw new IllegalStateException("Indexed field " + field + " is no longer declared", e);
+		}
+	}
+
+	private static Method copy(Method method) {
+		Class<?> clazz = method.getDeclaringClass();
+		try {
+			Method copy = clazz.getDeclaredMethod(method.getName(), method.getParameterTypes());
+			if (copy.equals(method)) { return copy; }
+		} catch (NoSuchMethodException ignored) {
+		}
+		// Bridge methods share the name & parameters of the method they bridge to
+		for (Method copy : clazz.getDeclaredMethods()) {
+			if (copy.equals(method)) { return copy; }
+		}
+		throw new IllegalStateException("Indexed method " + method + " is no longer declared");
+	}
+
+	private static <T> Constructor<T> copy(Constructor<T> constructor) {
+		try {
+			return constructor.getDeclaringClass().getDeclaredConstructor(constructor.getParameterTypes());
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Indexed constructor " + constructor + " is no longer declared", e);
+		}
+	}
+
+	private static Field[] copy(Field[] fields) {
+		Field[] copies = new Field[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			copies[i] = copy(fields[i]);
+		}
+		return copies;
+	}
+
+	private static Method[] copy(Method[] methods) {
+		Method[] copies = new Method[methods.length];
+		for (int i = 0; i < methods.length; i++) {
+			copies[i] = copy(methods[i]);
+		}
+		return copies;
+	}
+
+	// All the members of a kind: getDeclared* returns copies in the order of the index, checked member by member
+	private Field[] copyAll(Field[] fields) {
+		Field[] copies = clazz.getDeclaredFields();
+		return sameMembers(copies, fields) ? copies : copy(fields);
+	}
+
+	private Method[] copyAll(Method[] methods) {
+		Method[] copies = clazz.getDeclaredMethods();
+		return sameMembers(copies, methods) ? copies : copy(methods);
+	}
+
+	private Constructor<?>[] copyAll(Constructor<?>[] constructors) {
+		Constructor<?>[] copies = clazz.getDeclaredConstructors();
+		if (sameMembers(copies, constructors)) { return copies; }
+		for (int i = 0; i < constructors.length; i++) {
+			copies[i] = copy(constructors[i]);
+		}
+		return copies;
+	}
+
+	private static boolean sameMembers(Object[] copies, Object[] members) {
+		if (copies.length != members.length) { return false; }
+		for (int i = 0; i < members.length; i++) {
+			if (!copies[i].equals(members[i])) { return false; }
+		}
+		return true;
+	}
+
+	////
+
+	private MethodTable methodTable() {
+		MethodTable table = this.methodTable;
+		if (table == null) {
+			synchronized (this) {
+				if ((table = this.methodTable) == null) {
+					this.methodTable = table = new MethodTable(clazz.getDeclaredMethods());
+				}
+			}
+		}
+		return table;
+	}
+
+	private Constructor<?>[] constructorTable() {
+		Constructor<?>[] constructors = this.constructors;
+		if (constructors == null) {
+			synchronized (this) {
+				if ((constructors = this.constructors) == null) {
+					this.constructors = constructors = clazz.getDeclaredConstructors();
+				}
+			}
+		}
+		return constructors;
+	}
+
+	private SignatureTable signatureTable() {
+		SignatureTable table = this.signatureTable;
+		if (table == null) {
+			synchronized (this) {
+				if ((table = this.signatureTable) == null) {
+					this.signatureTable = table = new SignatureTable(methodTable().methods);
+				}
+			}
+		}
+		return table;
+	}
+
+	private FieldTable fieldTable() {
+		FieldTable table = this.fieldTable;
+		if (table == null) {
+			synchronized (this) {
+				if ((table = this.fieldTable) == null) {
+					this.fieldTable = table = new FieldTable(clazz.getDeclaredFields());
+				}
+			}
+		}
+		return table;
+	}
+
+	private static final class MethodTable {
+		final Method[]              methods;
+		final Map<String, Method[]> byName;
+
+		MethodTable(Method[] methods) {
+			this.methods = methods;
+			Map<String, List<Method>> byName = new LinkedHashMap<>();
+			for (Method method : methods) {
+				byName.computeIfAbsent(method.getName(), k -> new ArrayList<>(1)).add(method);
+			}
+			this.byName = freeze(byName, NO_METHODS);
+		}
+	}
+
+	// Signatures of the methods, bucketed by name, return type & arity to narrow down wildcard queries
+	private static final class SignatureTable {
+		final MethodSignature[]    signatures;
+		final Map<String, Integer> ordinals;
+		final Map<String, int[]>   byName;
+		final Map<String, int[]>   byReturnType;
+		final int[][]              byArity;
+
+		SignatureTable(Method[] methods) {
+			this.signatures = new MethodSignature[methods.length];
+			Map<String, Integer> ordinals = new HashMap<>(methods.length * 2);
+			Map<String, List<Integer>> byName = new HashMap<>();
+			Map<String, List<Integer>> byReturnType = new HashMap<>();
+			List<List<Integer>> byArity = new ArrayList<>();
+			for (int i = 0; i < methods.length; i++) {
+				MethodSignature signature = signatures[i] = MethodSignature.of(methods[i], false);
+				ordinals.putIfAbsent(signature.getSignature(), i);
+				byName.computeIfAbsent(signature.getName(), k -> new ArrayList<>(1)).add(i);
+				byReturnType.computeIfAbsent(signature.getReturnType(), k -> new ArrayList<>()).add(i);
+				int arity = signature.getParameterTypes().length;
+				while (byArity.size() <= arity) { byArity.add(new ArrayList<>()); }
+				byArity.get(arity).add(i);
+			}
+			this.ordinals = Collections.unmodifiableMap(ordinals);
+			this.byName = toOrdinals(byName);
+			this.byReturnType = toOrdinals(byReturnType);
+			this.byArity = new int[byArity.size()][];
+			for (int i = 0; i < this.byArity.length; i++) {
+				this.byArity[i] = toArray(byArity.get(i));
+			}
+		}
+
+		// Smallest bucket that contains all the methods the pattern can match, in declaration order
+		int[] candidates(MethodSignature pattern) {
+			int arity = pattern.getParameterTypes().length;
+			int[] candidates = arity < byArity.length ? byArity[arity] : NO_ORDINALS;
+			if (isLiteral(pattern.getName())) {
+				candidates = smallest(candidates, byName.get(pattern.getName()));
+			}
+			if (isLiteral(pattern.getReturnType())) {
+				candidates = smallest(candidates, byReturnType.get(pattern.getReturnType()));
+			}
+			return candidates;
+		}
+
+		static int[] smallest(int[] candidates, int[] bucket) {
+			if (bucket == null) { return NO_ORDINALS; }
+			return bucket.length < candidates.length ? bucket : candidates;
+		}
+
+		static boolean isLiteral(String part) {
+			return part.indexOf('?') < 0 && part.indexOf('*') < 0;
+		}
+
+		static Map<String, int[]> toOrdinals(Map<String, List<Integer>> map) {
+			Map<String, int[]> ordinals = new HashMap<>(map.size() * 2);
+			for (Map.Entry<String, List<Integer>> entry : map.entrySet()) {
+				ordinals.put(entry.getKey(), toArray(entry.getValue()));
+			}
+			return Collections.unmodifiableMap(ordinals);
+		}
+
+		static int[] toArray(List<Integer> list) {
+			int[] array = new int[list.size()];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = list.get(i);
+			}
+			return array;
+		}
+	}
+
+	private static final class FieldTable {
+		final Field[]                fields;
+		final Map<String, Field>     byName;
+		final Map<Class<?>, Field[]> byType;
+
+		FieldTable(Field[] fields) {
+			this.fields = fields;
+			Map<String, Field> byName = new HashMap<>(fields.length * 2);
+			Map<Class<?>, List<Field>> byType = new LinkedHashMap<>();
+			for (Field field : fields) {
+				byName.put(field.getName(), field);
+				byType.computeIfAbsent(field.getType(), k -> new ArrayList<>(1)).add(field);
+			}
+			this.byName = Collections.unmodifiableMap(byName);
+			this.byType = freeze(byType, NO_FIELDS);
+		}
+	}
+
+	private static <K, V> Map<K, V[]> freeze(Map<K, List<V>> map, V[] empty) {
+		Map<K, V[]> frozen = new HashMap<>(map.size() * 2);
+		for (Map.Entry<K, List<V>> entry : map.entrySet()) {
+			frozen.put(entry.getKey(), entry.getValue().toArray(empty));
+		}
+		return Collections.unmodifiableMap(frozen);
+	}
+
+}
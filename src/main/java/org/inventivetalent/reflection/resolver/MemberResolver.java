@@ -14,11 +14,13 @@ import java.lang.reflect.Member;
  */
 public abstract class MemberResolver<T extends Member> extends ResolverAbstract<T> {
 
-	protected Class<?> clazz;
+	protected Class<?>    clazz;
+	protected MemberIndex index;
 
 	public MemberResolver(Class<?> clazz) {
 		if (clazz == null) { throw new IllegalArgumentException("class cannot be null"); }
 		this.clazz = clazz;
+		this.index = MemberIndex.of(clazz);
 	}
 
 	public MemberResolver(String className) throws ClassNotFoundException {
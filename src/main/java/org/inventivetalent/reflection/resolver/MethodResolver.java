@@ -1,15 +1,26 @@
 package org.inventivetalent.reflection.resolver;
 
 import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper;
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper.MethodSignature;
 import org.inventivetalent.reflection.util.AccessUtil;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Resolver for methods
  */
 public class MethodResolver extends MemberResolver<Method> {
 
+	private static final Map<String, MethodSignature> patterns = new ConcurrentHashMap<>();
+
+	// Accessible copies of the declared methods by ordinal, so signature & index queries copy each method once
+	private volatile AtomicReferenceArray<Method> accessibleMethods;
+
 	public MethodResolver(Class<?> clazz) {
 		super(clazz);
 	}
@@ -19,41 +30,118 @@ public class MethodResolver extends MemberResolver<Method> {
 	}
 
 	public Method resolveSignature(String... signatures)throws ReflectiveOperationException {
-		for (Method method : clazz.getDeclaredMethods()) {
-			String methodSignature = MethodWrapper.getMethodSignature(method);
-			for (String s : signatures) {
-				if (s.equals(methodSignature)) {
-					return AccessUtil.setAccessible(method);
-				}
+		int ordinal = firstOrdinal(signatures);
+		if (ordinal < 0) { return null; }
+		return accessibleMethod(ordinal);
+	}
+
+	// Position of the first declared method matching any of the signatures
+	private int firstOrdinal(String[] signatures) {
+		int first = -1;
+		for (String s : signatures) {
+			int ordinal = this.index.methodOrdinal(s);
+			if (ordinal >= 0 && (first < 0 || ordinal < first)) {
+				first = ordinal;
 			}
 		}
-		return null;
+		return first;
 	}
 
 	public Method resolveSignatureSilent(String... signatures) {
-		try {
-			return resolveSignature(signatures);
-		} catch (ReflectiveOperationException ignored) {
-		}
-		return null;
+		int ordinal = firstOrdinal(signatures);
+		return ordinal >= 0 ? accessibleMethodSilent(ordinal) : null;
 	}
 
 	public MethodWrapper resolveSignatureWrapper(String... signatures) {
 		return new MethodWrapper(resolveSignatureSilent(signatures));
 	}
 
+	/**
+	 * Resolves the first declared method matching any of the signatures, which can contain wildcards (see {@link MethodSignature})
+	 *
+	 * @param patterns signatures, e.g. <code>"void set*(int,?)"</code>
+	 * @return the first matching method
+	 * @throws NoSuchMethodException if no method matches
+	 */
+	public Method resolveSignaturePattern(String... patterns) throws NoSuchMethodException {
+		Method method = resolveSignaturePatternSilent(patterns);
+		if (method == null) { throw notFoundException(String.join(", ", patterns)); }
+		return method;
+	}
+
+	public Method resolveSignaturePatternSilent(String... patterns) {
+		int first = -1;
+		for (String pattern : patterns) {
+			int ordinal = this.index.methodOrdinal(compile(pattern));
+			if (ordinal >= 0 && (first < 0 || ordinal < first)) {
+				first = ordinal;
+			}
+		}
+		return first >= 0 ? accessibleMethodSilent(first) : null;
+	}
+
+	public MethodWrapper resolveSignaturePatternWrapper(String... patterns) {
+		return new MethodWrapper<>(resolveSignaturePatternSilent(patterns));
+	}
+
+	/**
+	 * @param patterns signatures, which can contain wildcards (see {@link MethodSignature})
+	 * @return all the declared methods matching any of the signatures, in declaration order
+	 */
+	public List<Method> resolveAllMatching(String... patterns) {
+		boolean[] matching = new boolean[this.index.methodCount()];
+		for (String pattern : patterns) {
+			for (int ordinal : this.index.methodOrdinals(compile(pattern))) {
+				matching[ordinal] = true;
+			}
+		}
+		List<Method> list = new ArrayList<>();
+		for (int i = 0; i < matching.length; i++) {
+			if (matching[i]) {
+				Method method = accessibleMethodSilent(i);
+				if (method != null) { list.add(method); }
+			}
+		}
+		return list;
+	}
+
+	private Method accessibleMethod(int ordinal) throws ReflectiveOperationException {
+		Method method = accessibleMethodSilent(ordinal);
+		return method != null ? method : AccessUtil.setAccessible(this.index.method(ordinal));// Throws the reason
+	}
+
+	private Method accessibleMethodSilent(int ordinal) {
+		AtomicReferenceArray<Method> methods = this.accessibleMethods;
+		if (methods == null) { this.accessibleMethods = methods = new AtomicReferenceArray<>(this.index.methodCount()); }
+		Method method = methods.get(ordinal);
+		if (method == null) {
+			method = AccessUtil.setAccessibleSilent(this.index.method(ordinal));
+			if (method == null) { return null; }
+			if (!methods.compareAndSet(ordinal, null, method)) { method = methods.get(ordinal); }
+		}
+		return method;
+	}
+
+	// Signatures are compiled once, shared by all the resolvers
+	private static MethodSignature compile(String pattern) {
+		MethodSignature signature = patterns.get(pattern);
+		if (signature == null) {
+			signature = MethodSignature.fromString(pattern);
+			if (patterns.size() >= MAX_CACHED_QUERIES) { patterns.clear(); }
+			patterns.put(pattern, signature);
+		}
+		return signature;
+	}
+
 	@Override
 	public Method resolveIndex(int index) throws IndexOutOfBoundsException, ReflectiveOperationException {
-		return AccessUtil.setAccessible(this.clazz.getDeclaredMethods()[index]);
+		return accessibleMethod(index);
 	}
 
 	@Override
 	public Method resolveIndexSilent(int index) {
-		try {
-			return resolveIndex(index);
-		} catch (IndexOutOfBoundsException | ReflectiveOperationException ignored) {
-		}
-		return null;
+		if (index < 0 || index >= this.index.methodCount()) { return null; }
+		return accessibleMethodSilent(index);
 	}
 
 	@Override
@@ -70,11 +158,7 @@ public class MethodResolver extends MemberResolver<Method> {
 	}
 
 	public Method resolveSilent(String... names) {
-		try {
-			return resolve(names);
-		} catch (Exception e) {
-		}
-		return null;
+		return super.resolveSilent(toQueries(names));
 	}
 
 	@Override
@@ -83,11 +167,7 @@ public class MethodResolver extends MemberResolver<Method> {
 	}
 
 	public Method resolve(String... names) throws NoSuchMethodException {
-		ResolverQuery.Builder builder = ResolverQuery.builder();
-		for (String name : names) {
-			builder.with(name);
-		}
-		return resolve(builder.build());
+		return resolve(toQueries(names));
 	}
 
 	@Override
@@ -101,14 +181,19 @@ public class MethodResolver extends MemberResolver<Method> {
 
 	@Override
 	protected Method resolveObject(ResolverQuery query) throws ReflectiveOperationException {
-		for (Method method : this.clazz.getDeclaredMethods()) {
-			if (method.getName().equals(query.getName()) && (query.getTypes().length == 0 || ClassListEqual(query.getTypes(), method.getParameterTypes()))) {
-				return AccessUtil.setAccessible(method);
-			}
+		Method method = this.index.method(query.getName(), query.getTypes());
+		if (method != null) {
+			return AccessUtil.setAccessible(method);
 		}
 		throw new NoSuchMethodException();
 	}
 
+	@Override
+	protected Method findObject(ResolverQuery query) {
+		Method method = this.index.method(query.getName(), query.getTypes());
+		return method != null ? AccessUtil.setAccessibleSilent(method) : null;
+	}
+
 	@Override
 	protected NoSuchMethodException notFoundException(String joinedNames) {
 		return new NoSuchMethodException("Could not resolve method for " + joinedNames + " in class " + this.clazz);
@@ -0,0 +1,224 @@
+package org.inventivetalent.reflection.resolver;
+
+import org.bukkit.Bukkit;
+import org.inventivetalent.reflection.minecraft.Minecraft;
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers which alternative resolved each requirement of a {@link ResolverSchema}, to go straight to it on the next
+ * boot, see {@link ResolverSchema#resolve(ResolutionSnapshot)}
+ * <p>
+ * For every requirement the snapshot records the position of the matching alternative, the ordinal of the member in
+ * the declared members of its class, and a descriptor of the class or member (its name &amp; type, or its signature
+ * for methods). An entry is only used if the member found at the recorded ordinal still has the same descriptor,
+ * otherwise it is thrown out and the requirement is resolved normally.
+ * <p>
+ * A snapshot is bound to a key: the Minecraft version &amp; fingerprints of the server &amp; plugin jars. A file
+ * written with another key is ignored when read. The fingerprint of a jar is computed from its path, size &amp; last
+ * modification time, hashing the content of the server jar would cost more than the resolution it saves.
+ */
+public final class ResolutionSnapshot {
+
+	private static final int MAGIC  = 0x52534e50;// RSNP
+	private static final int FORMAT = 1;
+
+	private final String version;
+	private final long   serverFingerprint;
+	private final long   pluginFingerprint;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final LongAdder          hits    = new LongAdder();
+	private final LongAdder          misses  = new LongAdder();
+	private volatile boolean dirty;
+
+	/**
+	 * @param version           Minecraft version
+	 * @param serverFingerprint fingerprint of the server jar
+	 * @param pluginFingerprint fingerprint of the plugin jar
+	 */
+	public ResolutionSnapshot(String version, long serverFingerprint, long pluginFingerprint) {
+		if (version == null) { throw new IllegalArgumentException("version cannot be null"); }
+		this.version = version;
+		this.serverFingerprint = serverFingerprint;
+		this.pluginFingerprint = pluginFingerprint;
+	}
+
+	/**
+	 * Creates an empty snapshot for the running server
+	 *
+	 * @param pluginClass any class of the plugin jar
+	 * @return the snapshot, keyed by {@link Minecraft#getVersionPackage()}, the server jar &amp; the plugin jar
+	 */
+	public static ResolutionSnapshot forPlugin(Class<?> pluginClass) {
+		return new ResolutionSnapshot(Minecraft.getVersionPackage(), fingerprint(Bukkit.getServer().getClass()), fingerprint(pluginClass));
+	}
+
+	/**
+	 * @param clazz any class of the jar
+	 * @return the fingerprint of the jar the class was loaded from, <code>0</code> if it is unknown
+	 */
+	public static long fingerprint(Class<?> clazz) {
+		CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+		if (codeSource == null || codeSource.getLocation() == null) { return 0; }
+		File file;
+		try {
+			file = new File(codeSource.getLocation().toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return codeSource.getLocation().toString().hashCode();
+		}
+		long hash = file.getAbsolutePath().hashCode();
+		hash = 31 * hash + file.length();
+		hash = 31 * hash + file.lastModified();
+		return hash;
+	}
+
+	/**
+	 * Reads the entries of a snapshot file, if it has the same key as this snapshot
+	 *
+	 * @param file the snapshot file
+	 * @return <code>true</code> if the entries were read, <code>false</code> if the file doesn't exist or was written for another key
+	 * @throws IOException if the file could not be read
+	 */
+	public boolean read(File file) throws IOException {
+		if (!file.isFile()) { return false; }
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readUnsignedByte() != FORMAT) { return false; }
+			if (!version.equals(in.readUTF()) || in.readLong() != serverFingerprint || in.readLong() != pluginFingerprint) { return false; }
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String key = in.readUTF();
+				entries.put(key, new Entry(in.readUnsignedByte(), in.readInt(), in.readUTF()));
+			}
+		}
+		dirty = false;
+		return true;
+	}
+
+	/**
+	 * Writes the entries of the snapshot
+	 *
+	 * @param file the snapshot file
+	 * @throws IOException if the file could not be written
+	 */
+	public void write(File file) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) { throw new IOException("Could not create " + parent); }
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeByte(FORMAT);
+			out.writeUTF(version);
+			out.writeLong(serverFingerprint);
+			out.writeLong(pluginFingerprint);
+			Map.Entry<String, Entry>[] entries = this.entries.entrySet().toArray(new Map.Entry[0]);
+			out.writeInt(entries.length);
+			for (Map.Entry<String, Entry> entry : entries) {
+				out.writeUTF(entry.getKey());
+				out.writeByte(entry.getValue().alternative);
+				out.writeInt(entry.getValue().ordinal);
+				out.writeUTF(entry.getValue().descriptor);
+			}
+		}
+		dirty = false;
+	}
+
+	/**
+	 * @return <code>true</code> if entries were added or thrown out since the snapshot was last read or written
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return number of requirements resolved straight from an entry
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return number of requirements that had no valid entry
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	public void clear() {
+		entries.clear();
+		dirty = true;
+	}
+
+	//// Used by ResolverSchema
+
+	Entry get(String key) {
+		Entry entry = entries.get(key);
+		if (entry == null) { misses.increment(); }
+		return entry;
+	}
+
+	void hit() {
+		hits.increment();
+	}
+
+	// The entry didn't match anymore
+	void invalidate(String key) {
+		entries.remove(key);
+		misses.increment();
+		dirty = true;
+	}
+
+	void put(String key, int alternative, int ordinal, String descriptor) {
+		if (alternative > 0xFF) { return; }// Doesn't fit the format, nobody declares that many alternatives
+		entries.put(key, new Entry(alternative, ordinal, descriptor));
+		dirty = true;
+	}
+
+	/**
+	 * @param member a field, method or constructor
+	 * @return the descriptor of the member, checked before using an entry
+	 */
+	static String descriptor(Member member) {
+		if (member instanceof Method) { return MethodWrapper.getMethodSignature((Method) member, true); }
+		if (member instanceof Field) { return ((Field) member).getType().getName() + " " + member.getName(); }
+		StringBuilder builder = new StringBuilder("(");
+		for (Class<?> type : ((Constructor<?>) member).getParameterTypes()) {
+			if (builder.length() > 1) { builder.append(','); }
+			builder.append(type.getName());
+		}
+		return builder.append(')').toString();
+	}
+
+	static final class Entry {
+		final int    alternative;// Position of the matching alternative
+		final int    ordinal;// Position of the member in the declared members, -1 for classes
+		final String descriptor;// Class name or member descriptor
+
+		Entry(int alternative, int ordinal, String descriptor) {
+			this.alternative = alternative;
+			this.ordinal = ordinal;
+			this.descriptor = descriptor;
+		}
+	}
+
+}
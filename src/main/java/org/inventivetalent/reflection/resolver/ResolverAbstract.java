@@ -3,9 +3,15 @@ package org.inventivetalent.reflection.resolver;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract resolver class
+ * <p>
+ * Resolved objects are cached per query. Queries that could not be resolved are remembered as well (for
+ * {@link #getMissTimeToLive(TimeUnit)}), so fallback lists don't retry the alternatives that are known to be missing,
+ * and the query that resolved a list of alternatives is memoized for the whole list until one of the misses before it
+ * expires.
  *
  * @param <T> resolved type
  * @see ClassResolver
@@ -15,20 +21,61 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public abstract class ResolverAbstract<T> {
 
+	/**
+	 * Maximum number of remembered misses &amp; query lists per resolver, the caches are cleared once they are full
+	 */
+	public static final int MAX_CACHED_QUERIES = 1024;
+
+	private static final long NEVER = Long.MAX_VALUE;
+
 	protected final Map<ResolverQuery, T> resolvedObjects = new ConcurrentHashMap<ResolverQuery, T>();
 
+	// Query -> System.nanoTime() at which the miss expires (NEVER if it doesn't)
+	private final Map<ResolverQuery, Long> missedQueries  = new ConcurrentHashMap<ResolverQuery, Long>();
+	// List of alternatives -> object resolved by the first alternative that was found
+	private final Map<QueryList, ResolvedList<T>> resolvedLists  = new ConcurrentHashMap<QueryList, ResolvedList<T>>();
+	private volatile long                         missTimeToLive = NEVER;
+
+	/**
+	 * Sets how long a query that could not be resolved is remembered as missing. By default misses are remembered
+	 * forever, except for classes (see {@link ClassResolver}) which may become available later on.
+	 *
+	 * @param duration how long a miss is remembered, <code>0</code> to not remember misses, {@link Long#MAX_VALUE} to remember them forever
+	 * @param unit     unit of the duration
+	 */
+	public void setMissTimeToLive(long duration, TimeUnit unit) {
+		if (duration < 0) { throw new IllegalArgumentException("duration cannot be negative"); }
+		this.missTimeToLive = duration == Long.MAX_VALUE ? NEVER : unit.toNanos(duration);
+		clearMisses();
+	}
+
+	/**
+	 * @param unit unit of the returned duration
+	 * @return how long a miss is remembered, {@link Long#MAX_VALUE} if forever
+	 */
+	public long getMissTimeToLive(TimeUnit unit) {
+		return missTimeToLive == NEVER ? NEVER : unit.convert(missTimeToLive, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Forgets all the remembered misses, the next resolution tries all the alternatives again
+	 */
+	public void clearMisses() {
+		missedQueries.clear();
+		resolvedLists.clear();
+	}
+
 	/**
 	 * Same as {@link #resolve(ResolverQuery...)} but throws no exceptions
+	 * <p>
+	 * No exception is created either when the object can't be found, so this is the path to use for feature probing.
 	 *
 	 * @param queries Array of possible queries
 	 * @return the resolved object if it was found, <code>null</code> otherwise
 	 */
 	protected T resolveSilent(ResolverQuery... queries) {
-		try {
-			return resolve(queries);
-		} catch (Exception e) {
-		}
-		return null;
+		if (queries == null || queries.length <= 0) { return null; }
+		return resolveOrNull(queries);
 	}
 
 	/**
@@ -41,29 +88,151 @@ public abstract class ResolverAbstract<T> {
 	 */
 	protected T resolve(ResolverQuery... queries) throws ReflectiveOperationException {
 		if (queries == null || queries.length <= 0) { throw new IllegalArgumentException("Given possibilities are empty"); }
+		T resolved = resolveOrNull(queries);
+		if (resolved != null) { return resolved; }
+
+		//Couldn't find any of the possibilities
+		throw notFoundException(Arrays.asList(queries).toString());
+	}
+
+	private T resolveOrNull(ResolverQuery[] queries) {
+		//The list was already resolved, return the memoized alternative unless an earlier one may be available now
+		if (queries.length > 1) {
+			QueryList key = new QueryList(queries);
+			ResolvedList<T> resolved = resolvedLists.get(key);
+			if (resolved != null) {
+				if (isAlive(resolved.expiry)) { return resolved.object; }
+				resolvedLists.remove(key, resolved);
+			}
+		}
+
+		long expiry = NEVER;// Earliest expiry of the misses before the resolved alternative
+		boolean memoize = queries.length > 1;
 		for (ResolverQuery query : queries) {
-			//Object is already resolved, return it directly
-			if (resolvedObjects.containsKey(query)) { return resolvedObjects.get(query); }
-
-			//Object is not yet resolved, try to find it
-			try {
-				T resolved = resolveObject(query);
-				//Store if it was found
-				resolvedObjects.put(query, resolved);
+			T resolved = resolveQuery(query);
+			if (resolved != null) {
+				if (memoize) {
+					if (resolvedLists.size() >= MAX_CACHED_QUERIES) { resolvedLists.clear(); }
+					resolvedLists.put(new QueryList(queries.clone()), new ResolvedList<T>(resolved, expiry));
+				}
 				return resolved;
-			} catch (ReflectiveOperationException e) {
-				//Not found, ignore the exception
+			}
+			Long missExpiry = missedQueries.get(query);
+			if (missExpiry == null) {
+				memoize = false;// The miss is not remembered, the alternative is retried on every resolution
+			} else if (expiry == NEVER || (missExpiry != NEVER && missExpiry - expiry < 0)) {
+				expiry = missExpiry;
 			}
 		}
+		return null;
+	}
 
-		//Couldn't find any of the possibilities
-		throw notFoundException(Arrays.asList(queries).toString());
+	private T resolveQuery(ResolverQuery query) {
+		//Object is already resolved, return it directly
+		T resolved = resolvedObjects.get(query);
+		if (resolved != null) { return resolved; }
+
+		//Object is known to be missing, skip it
+		if (isMissing(query)) { return null; }
+
+		//Object is not yet resolved, try to find it
+		resolved = findObject(query);
+		if (resolved != null) {
+			//Store if it was found
+			resolvedObjects.put(query, resolved);
+		} else {
+			addMiss(query);
+		}
+		return resolved;
+	}
+
+	private boolean isMissing(ResolverQuery query) {
+		Long expiry = missedQueries.get(query);
+		if (expiry == null) { return false; }
+		if (isAlive(expiry)) { return true; }
+		missedQueries.remove(query, expiry);
+		return false;
+	}
+
+	private static boolean isAlive(long expiry) {
+		return expiry == NEVER || System.nanoTime() - expiry < 0;
+	}
+
+	private void addMiss(ResolverQuery query) {
+		long timeToLive = this.missTimeToLive;
+		if (timeToLive == 0) { return; }
+		if (missedQueries.size() >= MAX_CACHED_QUERIES) { missedQueries.clear(); }
+		missedQueries.put(query, timeToLive == NEVER ? NEVER : System.nanoTime() + timeToLive);
 	}
 
 	protected abstract T resolveObject(ResolverQuery query) throws ReflectiveOperationException;
 
+	/**
+	 * Same as {@link #resolveObject(ResolverQuery)} but returns <code>null</code> instead of throwing an exception if the
+	 * object doesn't exist. Resolvers that can look their objects up without exceptions should override this method.
+	 *
+	 * @param query the query
+	 * @return the object, or <code>null</code>
+	 */
+	protected T findObject(ResolverQuery query) {
+		try {
+			return resolveObject(query);
+		} catch (ReflectiveOperationException e) {
+			//Not found, ignore the exception
+		}
+		return null;
+	}
+
+	/**
+	 * @param names names to query
+	 * @return one query per name
+	 */
+	protected static ResolverQuery[] toQueries(String[] names) {
+		ResolverQuery[] queries = new ResolverQuery[names.length];
+		for (int i = 0; i < names.length; i++) {
+			queries[i] = new ResolverQuery(names[i]);
+		}
+		return queries;
+	}
+
 	protected ReflectiveOperationException notFoundException(String joinedNames) {
 		return new ReflectiveOperationException("Objects could not be resolved: " + joinedNames);
 	}
 
+	private static final class ResolvedList<T> {
+		private final T    object;
+		private final long expiry;// System.nanoTime() at which the first miss of the list expires (NEVER if none does)
+
+		ResolvedList(T object, long expiry) {
+			this.object = object;
+			this.expiry = expiry;
+		}
+	}
+
+	/**
+	 * Key of a list of alternatives, the array is never modified once used as a key
+	 */
+	private static final class QueryList {
+		private final ResolverQuery[] queries;
+		private final int             hash;
+
+		QueryList(ResolverQuery[] queries) {
+			this.queries = queries;
+			this.hash = Arrays.hashCode(queries);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) { return true; }
+			if (!(o instanceof QueryList)) { return false; }
+			QueryList that = (QueryList) o;
+			return hash == that.hash && Arrays.equals(queries, that.queries);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
 }
@@ -0,0 +1,114 @@
+package org.inventivetalent.reflection.resolver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of member resolvers, keyed by the class they resolve members of.
+ * <p>
+ * Resolvers are attached to the {@link Class} through a {@link ClassValue}, so the registry never keeps a class (or
+ * its class loader) alive: once a plugin is unloaded its resolvers are collected together with its classes.
+ *
+ * @see FieldResolver
+ * @see MethodResolver
+ * @see ConstructorResolver
+ */
+public final class ResolverCache {
+
+	private static final LongAdder lookups = new LongAdder();
+	private static final LongAdder misses  = new LongAdder();
+
+	private static final ClassValue<FieldResolver> fieldResolvers = new ClassValue<FieldResolver>() {
+		@Override
+		protected FieldResolver computeValue(Class<?> type) {
+			misses.increment();
+			return new FieldResolver(type);
+		}
+	};
+
+	private static final ClassValue<MethodResolver> methodResolvers = new ClassValue<MethodResolver>() {
+		@Override
+		protected MethodResolver computeValue(Class<?> type) {
+			misses.increment();
+			return new MethodResolver(type);
+		}
+	};
+
+	private static final ClassValue<ConstructorResolver> constructorResolvers = new ClassValue<ConstructorResolver>() {
+		@Override
+		protected ConstructorResolver computeValue(Class<?> type) {
+			misses.increment();
+			return new ConstructorResolver(type);
+		}
+	};
+
+	private ResolverCache() {
+	}
+
+	/**
+	 * @param clazz class to resolve fields of
+	 * @return the shared {@link FieldResolver} of the class
+	 * @throws IllegalArgumentException if the class is <code>null</code>
+	 */
+	public static FieldResolver fieldResolver(Class<?> clazz) {
+		return fieldResolvers.get(checkClass(clazz));
+	}
+
+	/**
+	 * @param clazz class to resolve methods of
+	 * @return the shared {@link MethodResolver} of the class
+	 * @throws IllegalArgumentException if the class is <code>null</code>
+	 */
+	public static MethodResolver methodResolver(Class<?> clazz) {
+		return methodResolvers.get(checkClass(clazz));
+	}
+
+	/**
+	 * @param clazz class to resolve constructors of
+	 * @return the shared {@link ConstructorResolver} of the class
+	 * @throws IllegalArgumentException if the class is <code>null</code>
+	 */
+	public static ConstructorResolver constructorResolver(Class<?> clazz) {
+		return constructorResolvers.get(checkClass(clazz));
+	}
+
+	/**
+	 * Drops the cached resolvers &amp; member index of a class, the next lookup creates new ones
+	 *
+	 * @param clazz class to invalidate
+	 */
+	public static void invalidate(Class<?> clazz) {
+		fieldResolvers.remove(clazz);
+		methodResolvers.remove(clazz);
+		constructorResolvers.remove(clazz);
+		MemberIndex.invalidate(clazz);
+	}
+
+	/**
+	 * @return number of lookups served by an already cached resolver
+	 */
+	public static long hits() {
+		return lookups.sum() - misses.sum();
+	}
+
+	/**
+	 * @return number of lookups that had to create a new resolver
+	 */
+	public static long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Resets the hit &amp; miss counters
+	 */
+	public static void resetStatistics() {
+		lookups.reset();
+		misses.reset();
+	}
+
+	private static Class<?> checkClass(Class<?> clazz) {
+		if (clazz == null) { throw new IllegalArgumentException("class cannot be null"); }
+		lookups.increment();
+		return clazz;
+	}
+
+}
@@ -0,0 +1,451 @@
+package org.inventivetalent.reflection.resolver;
+
+import org.inventivetalent.reflection.util.AccessUtil;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Declares a set of classes &amp; members to resolve together, see {@link #resolve()}
+ * <p>
+ * Every declaration returns the slot of the requirement in the resulting {@link Bindings}:
+ * <pre>
+ * ResolverSchema schema = new ResolverSchema();
+ * int dataWatcher = schema.type(new NMSClassResolver(), "DataWatcher");
+ * int map = schema.field(dataWatcher, "c", "d");
+ * int watch = schema.method(dataWatcher, new ResolverQuery("watch", int.class, Object.class));
+ *
+ * Bindings bindings = schema.resolve();
+ * bindings.checkResolved();// Reports all the failures at once
+ * java.lang.reflect.Field mapField = bindings.getField(map);
+ * </pre>
+ * Members are resolved class by class, using the shared resolvers &amp; member index of each class, so the declared
+ * members of a class are only listed once. A member that can't be resolved doesn't stop the resolution of the others.
+ * <p>
+ * Classes are independent of each other, so {@link #resolve(Executor)} &amp; {@link #resolveAsync(Executor)} can resolve
+ * them (with their members) in parallel. The bindings are the same as the ones of {@link #resolve()}: every slot only
+ * depends on its own alternatives, which are still tried in declaration order.
+ * <p>
+ * A {@link ResolutionSnapshot} of a previous resolution lets {@link #resolve(ResolutionSnapshot)} go straight to the
+ * alternatives &amp; members that matched last time.
+ */
+public class ResolverSchema {
+
+	static final int TYPE        = 0;
+	static final int FIELD       = 1;
+	static final int METHOD      = 2;
+	static final int SIGNATURE   = 3;
+	static final int CONSTRUCTOR = 4;
+
+	static final String[] KIND_NAMES = {
+			"class",
+			"field",
+			"method",
+			"method signature",
+			"constructor" };
+
+	final List<Requirement> requirements = new ArrayList<>();
+
+	/**
+	 * Declares a class
+	 *
+	 * @param names possible names of the class
+	 * @return the slot of the class
+	 */
+	public int type(String... names) {
+		return type(new ClassResolver(), names);
+	}
+
+	/**
+	 * Declares a class resolved by a specific {@link ClassResolver} (e.g. {@link org.inventivetalent.reflection.resolver.minecraft.NMSClassResolver})
+	 *
+	 * @param resolver resolver of the class
+	 * @param names    possible names of the class
+	 * @return the slot of the class
+	 */
+	public int type(ClassResolver resolver, String... names) {
+		if (resolver == null) { throw new IllegalArgumentException("resolver cannot be null"); }
+		checkNotEmpty(names);
+		return add(new Requirement(TYPE, -1, resolver, names.clone()));
+	}
+
+	/**
+	 * Declares an already known class, to resolve members of
+	 *
+	 * @param clazz the class
+	 * @return the slot of the class
+	 */
+	public int type(Class<?> clazz) {
+		if (clazz == null) { throw new IllegalArgumentException("class cannot be null"); }
+		return add(new Requirement(TYPE, -1, null, clazz));
+	}
+
+	/**
+	 * Declares a field
+	 *
+	 * @param owner slot of the class declaring the field
+	 * @param names possible names of the field
+	 * @return the slot of the field
+	 */
+	public int field(int owner, String... names) {
+		checkNotEmpty(names);
+		return add(new Requirement(FIELD, checkOwner(owner), null, ResolverAbstract.toQueries(names)));
+	}
+
+	/**
+	 * Declares a method
+	 *
+	 * @param owner slot of the class declaring the method
+	 * @param names possible names of the method
+	 * @return the slot of the method
+	 */
+	public int method(int owner, String... names) {
+		checkNotEmpty(names);
+		return add(new Requirement(METHOD, checkOwner(owner), null, ResolverAbstract.toQueries(names)));
+	}
+
+	/**
+	 * Declares a method
+	 *
+	 * @param owner   slot of the class declaring the method
+	 * @param queries possible names &amp; parameter types of the method
+	 * @return the slot of the method
+	 */
+	public int method(int owner, ResolverQuery... queries) {
+		checkNotEmpty(queries);
+		return add(new Requirement(METHOD, checkOwner(owner), null, queries.clone()));
+	}
+
+	/**
+	 * Declares a method by its signature, see {@link MethodResolver#resolveSignature(String...)}
+	 *
+	 * @param owner      slot of the class declaring the method
+	 * @param signatures possible signatures of the method
+	 * @return the slot of the method
+	 */
+	public int signature(int owner, String... signatures) {
+		checkNotEmpty(signatures);
+		return add(new Requirement(SIGNATURE, checkOwner(owner), null, signatures.clone()));
+	}
+
+	/**
+	 * Declares a constructor
+	 *
+	 * @param owner slot of the class declaring the constructor
+	 * @param types possible parameter types of the constructor
+	 * @return the slot of the constructor
+	 */
+	public int constructor(int owner, Class<?>[]... types) {
+		checkNotEmpty(types);
+		ResolverQuery[] queries = new ResolverQuery[types.length];
+		for (int i = 0; i < types.length; i++) {
+			queries[i] = new ResolverQuery(types[i]);
+		}
+		return add(new Requirement(CONSTRUCTOR, checkOwner(owner), null, queries));
+	}
+
+	/**
+	 * @return the number of declared requirements
+	 */
+	public int size() {
+		return requirements.size();
+	}
+
+	/**
+	 * Resolves all the declared requirements
+	 *
+	 * @return the resolved bindings, with the failures of the requirements that could not be resolved
+	 */
+	public Bindings resolve() {
+		return resolveSnapshot(null);
+	}
+
+	/**
+	 * Resolves all the declared requirements, going straight to the alternatives recorded in the snapshot. The
+	 * snapshot is updated with the requirements that had no valid entry, and can be written again if it is
+	 * {@link ResolutionSnapshot#isDirty() dirty}.
+	 *
+	 * @param snapshot snapshot of a previous resolution
+	 * @return the resolved bindings, with the failures of the requirements that could not be resolved
+	 */
+	public Bindings resolve(ResolutionSnapshot snapshot) {
+		if (snapshot == null) { throw new IllegalArgumentException("snapshot cannot be null"); }
+		return resolveSnapshot(snapshot);
+	}
+
+	/**
+	 * Resolves all the declared requirements, one class (&amp; its members) per task of the executor, and waits for them
+	 *
+	 * @param executor executor to run the tasks on
+	 * @return the resolved bindings, with the failures of the requirements that could not be resolved
+	 */
+	public Bindings resolve(Executor executor) {
+		return join(resolveAsync(executor));
+	}
+
+	/**
+	 * Same as {@link #resolve(Executor)}, using &amp; updating a snapshot like {@link #resolve(ResolutionSnapshot)}
+	 *
+	 * @param executor executor to run the tasks on
+	 * @param snapshot snapshot of a previous resolution
+	 * @return the resolved bindings, with the failures of the requirements that could not be resolved
+	 */
+	public Bindings resolve(Executor executor, ResolutionSnapshot snapshot) {
+		if (snapshot == null) { throw new IllegalArgumentException("snapshot cannot be null"); }
+		return join(resolveAsync(executor, snapshot));
+	}
+
+	/**
+	 * Resolves all the declared requirements in the background, on the {@link ForkJoinPool#commonPool() common pool}
+	 *
+	 * @return the future bindings, to join before their first use
+	 * @see #resolveAsync(Executor)
+	 */
+	public CompletableFuture<Bindings> resolveAsync() {
+		return resolveAsync(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Resolves all the declared requirements in the background, one class (&amp; its members) per task of the executor
+	 *
+	 * @param executor executor to run the tasks on
+	 * @return the future bindings, to join before their first use
+	 */
+	public CompletableFuture<Bindings> resolveAsync(Executor executor) {
+		return resolveAsync(executor, null);
+	}
+
+	/**
+	 * Same as {@link #resolveAsync(Executor)}, using &amp; updating a snapshot like {@link #resolve(ResolutionSnapshot)}
+	 *
+	 * @param executor executor to run the tasks on
+	 * @param snapshot snapshot of a previous resolution, or <code>null</code>
+	 * @return the future bindings, to join before their first use
+	 */
+	public CompletableFuture<Bindings> resolveAsync(Executor executor, final ResolutionSnapshot snapshot) {
+		if (executor == null) { throw new IllegalArgumentException("executor cannot be null"); }
+		final Requirement[] requirements = this.requirements.toArray(new Requirement[0]);
+		final Object[] values = new Object[requirements.length];
+		final String[] failures = new String[requirements.length];
+		List<CompletableFuture<Void>> tasks = new ArrayList<>();
+		for (int slot = 0; slot < requirements.length; slot++) {
+			if (requirements[slot].kind == TYPE) {
+				final int typeSlot = slot;
+				// Tasks only write the slots of their own class
+				tasks.add(CompletableFuture.runAsync(() -> resolveType(requirements, typeSlot, values, failures, snapshot), executor));
+			}
+		}
+		return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).thenApply(v -> new Bindings(kinds(requirements), values, failures));
+	}
+
+	private Bindings resolveSnapshot(ResolutionSnapshot snapshot) {
+		Requirement[] requirements = this.requirements.toArray(new Requirement[0]);
+		Object[] values = new Object[requirements.length];
+		String[] failures = new String[requirements.length];
+		for (int slot = 0; slot < requirements.length; slot++) {
+			if (requirements[slot].kind == TYPE) {
+				resolveType(requirements, slot, values, failures, snapshot);
+			}
+		}
+		return new Bindings(kinds(requirements), values, failures);
+	}
+
+	private static Bindings join(CompletableFuture<Bindings> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) { throw (RuntimeException) e.getCause(); }
+			if (e.getCause() instanceof Error) { throw (Error) e.getCause(); }
+			throw e;
+		}
+	}
+
+	// Resolves a class, then all the members declared on it
+	void resolveType(Requirement[] requirements, int typeSlot, Object[] values, String[] failures, ResolutionSnapshot snapshot) {
+		Requirement type = requirements[typeSlot];
+		Class<?> clazz;
+		if (type.resolver == null) {
+			clazz = (Class<?>) type.spec;
+		} else if (snapshot == null) {
+			clazz = type.resolver.resolveSilent((String[]) type.spec);
+		} else {
+			clazz = resolveClass(type, snapshot);
+		}
+		if (clazz == null) {
+			failures[typeSlot] = "Could not resolve class for " + describe(type);
+		}
+		values[typeSlot] = clazz;
+
+		for (int slot = typeSlot + 1; slot < requirements.length; slot++) {
+			Requirement member = requirements[slot];
+			if (member.owner != typeSlot) { continue; }
+			if (clazz == null) {
+				failures[slot] = "Could not resolve " + KIND_NAMES[member.kind] + " for " + describe(member) + ", class " + describe(type) + " is missing";
+				continue;
+			}
+			Member resolved = snapshot == null ? resolveMember(clazz, member.kind, (Object[]) member.spec) : resolveMember(clazz, member, snapshot);
+			if (resolved == null) {
+				failures[slot] = "Could not resolve " + KIND_NAMES[member.kind] + " for " + describe(member) + " in class " + clazz;
+			}
+			values[slot] = resolved;
+		}
+	}
+
+	static Member resolveMember(Class<?> clazz, int kind, Object[] alternatives) {
+		switch (kind) {
+			case FIELD:
+				return ResolverCache.fieldResolver(clazz).resolveSilent((ResolverQuery[]) alternatives);
+			case METHOD:
+				return ResolverCache.methodResolver(clazz).resolveSilent((ResolverQuery[]) alternatives);
+			case SIGNATURE:
+				return ResolverCache.methodResolver(clazz).resolveSignatureSilent((String[]) alternatives);
+			case CONSTRUCTOR:
+				return ResolverCache.constructorResolver(clazz).resolveSilent((ResolverQuery[]) alternatives);
+			default:
+				throw new IllegalStateException("Not a member: " + kind);
+		}
+	}
+
+	// Tries the recorded alternative first, then all of them one by one to record the one that matches
+	static Class<?> resolveClass(Requirement type, ResolutionSnapshot snapshot) {
+		String[] names = (String[]) type.spec;
+		String key = KIND_NAMES[TYPE] + " " + type.resolver.getClass().getName() + " " + Arrays.toString(names);
+		ResolutionSnapshot.Entry entry = snapshot.get(key);
+		if (entry != null) {
+			Class<?> clazz = entry.alternative < names.length ? type.resolver.resolveSilent(names[entry.alternative]) : null;
+			if (clazz != null && clazz.getName().equals(entry.descriptor)) {
+				snapshot.hit();
+				return clazz;
+			}
+			snapshot.invalidate(key);
+		}
+		for (int i = 0; i < names.length; i++) {
+			Class<?> clazz = type.resolver.resolveSilent(names[i]);
+			if (clazz != null) {
+				snapshot.put(key, i, -1, clazz.getName());
+				return clazz;
+			}
+		}
+		return null;
+	}
+
+	// Takes the member at the recorded ordinal if it still matches, otherwise tries the alternatives one by one
+	static Member resolveMember(Class<?> clazz, Requirement requirement, ResolutionSnapshot snapshot) {
+		Object[] alternatives = (Object[]) requirement.spec;
+		String key = KIND_NAMES[requirement.kind] + " " + clazz.getName() + " " + Arrays.toString(alternatives);
+		MemberIndex index = MemberIndex.of(clazz);
+		ResolutionSnapshot.Entry entry = snapshot.get(key);
+		if (entry != null) {
+			// The descriptor is checked on the indexed member, only the returned member is copied
+			int ordinal = entry.ordinal;
+			if (ordinal >= 0 && ordinal < memberCount(index, requirement.kind) && entry.descriptor.equals(ResolutionSnapshot.descriptor(indexedMember(index, requirement.kind, ordinal)))) {
+				Member member = setAccessible(member(index, requirement.kind, ordinal));
+				if (member != null) {
+					snapshot.hit();
+					return member;
+				}
+			}
+			snapshot.invalidate(key);
+		}
+		for (int i = 0; i < alternatives.length; i++) {
+			Member member = resolveMember(clazz, requirement.kind, Arrays.copyOfRange(alternatives, i, i + 1));
+			if (member != null) {
+				snapshot.put(key, i, index.ordinal(member), ResolutionSnapshot.descriptor(member));
+				return member;
+			}
+		}
+		return null;
+	}
+
+	static int memberCount(MemberIndex index, int kind) {
+		switch (kind) {
+			case FIELD:
+				return index.fieldCount();
+			case CONSTRUCTOR:
+				return index.constructorCount();
+			default:
+				return index.methodCount();
+		}
+	}
+
+	static Member indexedMember(MemberIndex index, int kind, int ordinal) {
+		switch (kind) {
+			case FIELD:
+				return index.indexedField(ordinal);
+			case CONSTRUCTOR:
+				return index.indexedConstructor(ordinal);
+			default:
+				return index.indexedMethod(ordinal);
+		}
+	}
+
+	static Member member(MemberIndex index, int kind, int ordinal) {
+		switch (kind) {
+			case FIELD:
+				return index.field(ordinal);
+			case CONSTRUCTOR:
+				return index.constructor(ordinal);
+			default:
+				return index.method(ordinal);
+		}
+	}
+
+	static Member setAccessible(Member member) {
+		if (member instanceof Field) { return AccessUtil.setAccessibleSilent((Field) member); }
+		if (member instanceof Method) { return AccessUtil.setAccessibleSilent((Method) member); }
+		return AccessUtil.setAccessibleSilent((Constructor) member);
+	}
+
+	static int[] kinds(Requirement[] requirements) {
+		int[] kinds = new int[requirements.length];
+		for (int i = 0; i < requirements.length; i++) {
+			kinds[i] = requirements[i].kind;
+		}
+		return kinds;
+	}
+
+	static String describe(Requirement requirement) {
+		if (requirement.spec instanceof Class) { return ((Class<?>) requirement.spec).getName(); }
+		return Arrays.toString((Object[]) requirement.spec);
+	}
+
+	private int add(Requirement requirement) {
+		requirements.add(requirement);
+		return requirements.size() - 1;
+	}
+
+	private int checkOwner(int owner) {
+		if (owner < 0 || owner >= requirements.size() || requirements.get(owner).kind != TYPE) {
+			throw new IllegalArgumentException("Slot " + owner + " is not a declared class");
+		}
+		return owner;
+	}
+
+	private static void checkNotEmpty(Object[] alternatives) {
+		if (alternatives == null || alternatives.length == 0) { throw new IllegalArgumentException("Given possibilities are empty"); }
+	}
+
+	static final class Requirement {
+		final int           kind;
+		final int           owner;
+		final ClassResolver resolver;
+		final Object        spec;// Class, String[] or ResolverQuery[]
+
+		Requirement(int kind, int owner, ClassResolver resolver, Object spec) {
+			this.kind = kind;
+			this.owner = owner;
+			this.resolver = resolver;
+			this.spec = spec;
+		}
+	}
+
+}
@@ -1,20 +1,13 @@
 package org.inventivetalent.reflection.resolver.minecraft;
 
-import org.inventivetalent.reflection.minecraft.Minecraft;
 import org.inventivetalent.reflection.resolver.ClassResolver;
 
 /**
  * {@link ClassResolver} for <code>org.bukkit.craftbukkit.*</code> classes
  */
-public class OBCClassResolver extends ClassResolver {
+public class OBCClassResolver extends VersionedClassResolver {
 
-	@Override
-	public Class resolve(String... names) throws ClassNotFoundException {
-		for (int i = 0; i < names.length; i++) {
-			if (!names[i].startsWith("org.bukkit.craftbukkit")) {
-				names[i] = "org.bukkit.craftbukkit." + Minecraft.getVersion() + names[i];
-			}
-		}
-		return super.resolve(names);
+	public OBCClassResolver() {
+		super("org.bukkit.craftbukkit");
 	}
 }
@@ -0,0 +1,73 @@
+package org.inventivetalent.reflection.resolver.minecraft;
+
+import org.inventivetalent.reflection.minecraft.Minecraft;
+import org.inventivetalent.reflection.resolver.ClassResolver;
+import org.inventivetalent.reflection.resolver.ResolverAbstract;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ClassResolver} for classes of a versioned package (<code>&lt;package&gt;.&lt;version&gt;.&lt;name&gt;</code>)
+ * <p>
+ * Names which are not qualified by the package are qualified with the current {@link Minecraft#VERSION}. Resolved
+ * classes are cached by the name they were requested with, so resolving a class again is a single map lookup, without
+ * building the qualified name. A class found through a fallback name is not cached there, since the preferred name may
+ * become available later on. The arrays of names passed to the resolver are never modified.
+ */
+public abstract class VersionedClassResolver extends ClassResolver {
+
+	private final String packageName;
+	private       String prefix;// <package>.<version>. computed on first use, the version may not be set yet when the resolver is created
+
+	private final Map<String, Class> classes = new ConcurrentHashMap<>();
+
+	protected VersionedClassResolver(String packageName) {
+		this.packageName = packageName;
+	}
+
+	@Override
+	public Class resolve(String... names) throws ClassNotFoundException {
+		Class clazz = names.length > 0 ? classes.get(names[0]) : null;
+		if (clazz != null) { return clazz; }
+		String[] qualified = qualify(names);
+		return cache(names, qualified, super.resolve(qualified));
+	}
+
+	@Override
+	public Class resolveSilent(String... names) {
+		Class clazz = names.length > 0 ? classes.get(names[0]) : null;
+		if (clazz != null) { return clazz; }
+		String[] qualified = qualify(names);
+		clazz = super.resolveSilent(qualified);
+		return clazz != null ? cache(names, qualified, clazz) : null;
+	}
+
+	/**
+	 * @param name simple (or already qualified) name of a class
+	 * @return the qualified name of the class
+	 */
+	public String qualify(String name) {
+		if (name.startsWith(packageName)) { return name; }
+		String prefix = this.prefix;
+		if (prefix == null) { this.prefix = prefix = packageName + "." + Minecraft.getVersion(); }
+		return prefix.concat(name);
+	}
+
+	private String[] qualify(String[] names) {
+		String[] qualified = new String[names.length];
+		for (int i = 0; i < names.length; i++) {
+			qualified[i] = qualify(names[i]);
+		}
+		return qualified;
+	}
+
+	private Class cache(String[] names, String[] qualified, Class clazz) {
+		// Only cached when the first name resolved: an earlier name is preferred and may become available later on
+		if (qualified[0].equals(clazz.getName())) {
+			if (classes.size() >= ResolverAbstract.MAX_CACHED_QUERIES) { classes.clear(); }
+			classes.put(names[0], clazz);
+		}
+		return clazz;
+	}
+}
@@ -1,9 +1,15 @@
 package org.inventivetalent.reflection.resolver.wrapper;
 
+import org.inventivetalent.reflection.accessor.Factory;
+
+import java.lang.reflect.Modifier;
+
 public class ClassWrapper<R> extends WrapperAbstract {
 
 	private final Class<R> clazz;
 
+	private Factory<R> factory;
+
 	public ClassWrapper(Class<R> clazz) {
 		this.clazz = clazz;
 	}
@@ -23,7 +29,8 @@ public class ClassWrapper<R> extends WrapperAbstract {
 
 	public R newInstance() {
 		try {
-			return this.clazz.newInstance();
+			Factory<R> factory = getFactory();
+			return factory != null ? factory.create() : this.clazz.newInstance();
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -31,12 +38,24 @@ public class ClassWrapper<R> extends WrapperAbstract {
 
 	public R newInstanceSilent() {
 		try {
-			return this.clazz.newInstance();
+			Factory<R> factory = getFactory();
+			return factory != null ? factory.create() : this.clazz.newInstance();
 		} catch (Exception e) {
 		}
 		return null;
 	}
 
+	// Factory of the public no-arg constructor, the one Class#newInstance can call from here
+	private Factory<R> getFactory() {
+		if (this.factory == null && Modifier.isPublic(this.clazz.getModifiers())) {
+			try {
+				this.factory = Factory.of(this.clazz.getConstructor());
+			} catch (NoSuchMethodException ignored) {
+			}
+		}
+		return this.factory;
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		if (this == object) { return true; }
@@ -1,11 +1,15 @@
 package org.inventivetalent.reflection.resolver.wrapper;
 
+import org.inventivetalent.reflection.accessor.Factory;
+
 import java.lang.reflect.Constructor;
 
 public class ConstructorWrapper<R> extends WrapperAbstract {
 
 	private final Constructor<R> constructor;
 
+	private Factory<R> factory;
+
 	public ConstructorWrapper(Constructor<R> constructor) {
 		this.constructor = constructor;
 	}
@@ -17,7 +21,7 @@ public class ConstructorWrapper<R> extends WrapperAbstract {
 
 	public R newInstance(Object... args) {
 		try {
-			return this.constructor.newInstance(args);
+			return getFactory().newInstance(args);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -25,7 +29,7 @@ public class ConstructorWrapper<R> extends WrapperAbstract {
 
 	public R newInstanceSilent(Object... args) {
 		try {
-			return this.constructor.newInstance(args);
+			return getFactory().newInstance(args);
 		} catch (Exception e) {
 		}
 		return null;
@@ -39,6 +43,16 @@ public class ConstructorWrapper<R> extends WrapperAbstract {
 		return constructor;
 	}
 
+	/**
+	 * @return the (cached) {@link Factory} of the wrapped constructor, use its <code>create</code> methods for calls without an argument array
+	 */
+	public Factory<R> getFactory() {
+		if (this.factory == null) {
+			this.factory = Factory.of(this.constructor);
+		}
+		return this.factory;
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		if (this == object) { return true; }
@@ -1,11 +1,15 @@
 package org.inventivetalent.reflection.resolver.wrapper;
 
+import org.inventivetalent.reflection.accessor.FieldAccessor;
+
 import java.lang.reflect.Field;
 
 public class FieldWrapper<R> extends WrapperAbstract {
 
 	private final Field field;
 
+	private FieldAccessor<R> accessor;
+
 	public FieldWrapper(Field field) {
 		this.field = field;
 	}
@@ -21,7 +25,7 @@ public class FieldWrapper<R> extends WrapperAbstract {
 
 	public R get(Object object) {
 		try {
-			return (R) this.field.get(object);
+			return getAccessor().get(object);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -29,7 +33,7 @@ public class FieldWrapper<R> extends WrapperAbstract {
 
 	public R getSilent(Object object) {
 		try {
-			return (R) this.field.get(object);
+			return getAccessor().get(object);
 		} catch (Exception e) {
 		}
 		return null;
@@ -37,7 +41,7 @@ public class FieldWrapper<R> extends WrapperAbstract {
 
 	public void set(Object object, R value) {
 		try {
-			this.field.set(object, value);
+			getAccessor().set(object, value);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -45,15 +49,89 @@ public class FieldWrapper<R> extends WrapperAbstract {
 
 	public void setSilent(Object object, R value) {
 		try {
-			this.field.set(object, value);
+			getAccessor().set(object, value);
 		} catch (Exception e) {
 		}
 	}
 
+	public boolean getBoolean(Object object) {
+		return getAccessor().getBoolean(object);
+	}
+
+	public void setBoolean(Object object, boolean value) {
+		getAccessor().setBoolean(object, value);
+	}
+
+	public byte getByte(Object object) {
+		return getAccessor().getByte(object);
+	}
+
+	public void setByte(Object object, byte value) {
+		getAccessor().setByte(object, value);
+	}
+
+	public char getChar(Object object) {
+		return getAccessor().getChar(object);
+	}
+
+	public void setChar(Object object, char value) {
+		getAccessor().setChar(object, value);
+	}
+
+	public short getShort(Object object) {
+		return getAccessor().getShort(object);
+	}
+
+	public void setShort(Object object, short value) {
+		getAccessor().setShort(object, value);
+	}
+
+	public int getInt(Object object) {
+		return getAccessor().getInt(object);
+	}
+
+	public void setInt(Object object, int value) {
+		getAccessor().setInt(object, value);
+	}
+
+	public long getLong(Object object) {
+		return getAccessor().getLong(object);
+	}
+
+	public void setLong(Object object, long value) {
+		getAccessor().setLong(object, value);
+	}
+
+	public float getFloat(Object object) {
+		return getAccessor().getFloat(object);
+	}
+
+	public void setFloat(Object object, float value) {
+		getAccessor().setFloat(object, value);
+	}
+
+	public double getDouble(Object object) {
+		return getAccessor().getDouble(object);
+	}
+
+	public void setDouble(Object object, double value) {
+		getAccessor().setDouble(object, value);
+	}
+
 	public Field getField() {
 		return field;
 	}
 
+	/**
+	 * @return the (cached) {@link FieldAccessor} of the wrapped field
+	 */
+	public FieldAccessor<R> getAccessor() {
+		if (this.accessor == null) {
+			this.accessor = FieldAccessor.of(this.field);
+		}
+		return this.accessor;
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		if (this == object) { return true; }
@@ -1,5 +1,7 @@
 package org.inventivetalent.reflection.resolver.wrapper;
 
+import org.inventivetalent.reflection.accessor.MethodInvoker;
+
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.regex.Matcher;
@@ -9,6 +11,8 @@ public class MethodWrapper<R> extends WrapperAbstract {
 
 	private final Method method;
 
+	private MethodInvoker invoker;
+
 	public MethodWrapper(Method method) {
 		this.method = method;
 	}
@@ -24,7 +28,7 @@ public class MethodWrapper<R> extends WrapperAbstract {
 
 	public R invoke(Object object, Object... args) {
 		try {
-			return (R) this.method.invoke(object, args);
+			return (R) getInvoker().invoke(object, args);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
@@ -32,7 +36,7 @@ public class MethodWrapper<R> extends WrapperAbstract {
 
 	public R invokeSilent(Object object, Object... args) {
 		try {
-			return (R) this.method.invoke(object, args);
+			return (R) getInvoker().invoke(object, args);
 		} catch (Exception e) {
 		}
 		return null;
@@ -42,6 +46,16 @@ public class MethodWrapper<R> extends WrapperAbstract {
 		return method;
 	}
 
+	/**
+	 * @return the (cached) {@link MethodInvoker} of the wrapped method, use its <code>invokeN</code> methods for calls without an argument array
+	 */
+	public MethodInvoker getInvoker() {
+		if (this.invoker == null) {
+			this.invoker = MethodInvoker.of(this.method);
+		}
+		return this.invoker;
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		if (this == object) { return true; }
@@ -99,26 +113,36 @@ public class MethodWrapper<R> extends WrapperAbstract {
 		return getMethodSignature(method, false);
 	}
 
+	/**
+	 * Signature of a method: return type, name &amp; parameter types. The parts of a signature can contain wildcards,
+	 * <code>?</code> matches one word character &amp; <code>*</code> any number of word characters.
+	 * <p>
+	 * The wildcards are compiled once with the signature, {@link #matches(MethodSignature)} doesn't allocate.
+	 */
 	public static class MethodSignature {
 		static final Pattern SIGNATURE_STRING_PATTERN = Pattern.compile("(.+) (.*)\\((.*)\\)");
 
+		private static final String[] NO_PARAMETERS = new String[0];
+
 		private final String   returnType;
-		private final Pattern  returnTypePattern;
+		private final Glob     returnTypeGlob;
 		private final String   name;
-		private final Pattern  namePattern;
+		private final Glob     nameGlob;
 		private final String[] parameterTypes;
+		private final Glob[]   parameterGlobs;
 		private final String   signature;
 
 		public MethodSignature(String returnType, String name, String[] parameterTypes) {
-			this.returnType = returnType;
-			this.returnTypePattern = Pattern.compile(returnType
-					.replace("?", "\\w")
-					.replace("*", "\\w*")
-					.replace("[", "\\[")
-					.replace("]", "\\]"));
-			this.name = name;
-			this.namePattern = Pattern.compile(name.replace("?", "\\w").replace("*", "\\w*"));
-			this.parameterTypes = parameterTypes;
+			this.returnType = returnType.intern();
+			this.returnTypeGlob = new Glob(this.returnType);
+			this.name = name.intern();
+			this.nameGlob = new Glob(this.name);
+			this.parameterTypes = new String[parameterTypes.length];
+			this.parameterGlobs = new Glob[parameterTypes.length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				this.parameterTypes[i] = parameterTypes[i].intern();
+				this.parameterGlobs[i] = new Glob(this.parameterTypes[i]);
+			}
 
 			StringBuilder builder = new StringBuilder();
 			builder.append(returnType).append(" ").append(name).append("(");
@@ -163,7 +187,8 @@ public class MethodWrapper<R> extends WrapperAbstract {
 				if (matcher.groupCount() != 3) {
 					throw new IllegalArgumentException("invalid signature");
 				}
-				return new MethodSignature(matcher.group(1), matcher.group(2), matcher.group(3).split(","));
+				String parameters = matcher.group(3);
+				return new MethodSignature(matcher.group(1), matcher.group(2), parameters.isEmpty() ? NO_PARAMETERS : parameters.split(","));
 			} else {
 				throw new IllegalArgumentException("invalid signature");
 			}
@@ -209,36 +234,26 @@ public class MethodWrapper<R> extends WrapperAbstract {
 		 */
 		public boolean matches(MethodSignature other) {
 			if (other == null) { return false; }
-
-			//			if (!returnType.equals(other.returnType)) {
-			//				if (!isReturnTypeWildcard()) { return false; }
-			//			}
-			//			if (!name.equals(other.name)) {
-			//				if (!isNameWildcard()) { return false; }
-			//			}
-			//			if (parameterTypes.length != other.parameterTypes.length) { return false; }
-			//			for (int i = 0; i < parameterTypes.length; i++) {
-			//				if (!getParameterType(i).equals(other.getParameterType(i))) {
-			//					if (!isParameterWildcard(i)) { return false; }
-			//				}
-			//			}
-
-			if (!returnTypePattern.matcher(other.returnType).matches()) {
-				return false;
-			}
-			if (!namePattern.matcher(other.name).matches()) {
-				return false;
-			}
-			if (parameterTypes.length != other.parameterTypes.length) { return false; }
-			for (int i = 0; i < parameterTypes.length; i++) {
-				if (!Pattern.compile(getParameterType(i).replace("?", "\\w").replace("*", "\\w*")).matcher(other.getParameterType(i)).matches()) {
-					return false;
-				}
+			if (parameterGlobs.length != other.parameterTypes.length) { return false; }
+			if (!nameGlob.matches(other.name)) { return false; }
+			if (!returnTypeGlob.matches(other.returnType)) { return false; }
+			for (int i = 0; i < parameterGlobs.length; i++) {
+				if (!parameterGlobs[i].matches(other.parameterTypes[i])) { return false; }
 			}
-
 			return true;
 		}
 
+		/**
+		 * @return <code>true</code> if any part of this signature contains a wildcard
+		 */
+		public boolean hasWildcards() {
+			if (!returnTypeGlob.literal || !nameGlob.literal) { return true; }
+			for (Glob glob : parameterGlobs) {
+				if (!glob.literal) { return true; }
+			}
+			return false;
+		}
+
 		@Override
 		public boolean equals(Object o) {
 			if (this == o) { return true; }
@@ -267,6 +282,53 @@ public class MethodWrapper<R> extends WrapperAbstract {
 		public String toString() {
 			return getSignature();
 		}
+
+		// Compiled part of a signature, matched without regular expressions
+		static final class Glob {
+			final String  pattern;
+			final boolean literal;
+
+			Glob(String pattern) {
+				this.pattern = pattern;
+				this.literal = pattern.indexOf('?') < 0 && pattern.indexOf('*') < 0;
+			}
+
+			boolean matches(String string) {
+				if (literal) { return pattern.equals(string); }// Interned names, mostly an identity check
+
+				// Wildcard matching with backtracking to the last '*'
+				int p = 0, s = 0, star = -1, starMatch = 0;
+				while (s < string.length()) {
+					char c = string.charAt(s);
+					if (p < pattern.length()) {
+						char pc = pattern.charAt(p);
+						if (pc == '*') {
+							star = p++;
+							starMatch = s;
+							continue;
+						}
+						if (pc == '?' ? isWordChar(c) : pc == c) {
+							p++;
+							s++;
+							continue;
+						}
+					}
+					if (star >= 0 && isWordChar(string.charAt(starMatch))) {// Extend the last '*' by one character
+						p = star + 1;
+						s = ++starMatch;
+						continue;
+					}
+					return false;
+				}
+				while (p < pattern.length() && pattern.charAt(p) == '*') { p++; }
+				return p == pattern.length();
+			}
+
+			// Same as \w
+			static boolean isWordChar(char c) {
+				return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+			}
+		}
 	}
 
 }
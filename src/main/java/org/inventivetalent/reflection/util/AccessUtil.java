@@ -3,6 +3,7 @@ package org.inventivetalent.reflection.util;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
  * Helper class to set fields, methods &amp; constructors accessible
@@ -17,6 +18,7 @@ public abstract class AccessUtil {
 	 * @throws ReflectiveOperationException  (usually never)
 	 */
 	public static Field setAccessible(Field field) throws ReflectiveOperationException {
+		if (field.isAccessible() && !Modifier.isFinal(field.getModifiers())) { return field; }// Already done
 		field.setAccessible(true);
 		Field modifiersField = Field.class.getDeclaredField("modifiers");
 		modifiersField.setAccessible(true);
@@ -48,4 +50,48 @@ public abstract class AccessUtil {
 		return constructor;
 	}
 
+	/**
+	 * Same as {@link #setAccessible(Field)} but throws no exceptions
+	 *
+	 * @param field Field to set accessible
+	 * @return the Field, or <code>null</code> if it could not be set accessible
+	 */
+	public static Field setAccessibleSilent(Field field) {
+		try {
+			return setAccessible(field);
+		} catch (ReflectiveOperationException | RuntimeException ignored) {
+		}
+		return null;
+	}
+
+	/**
+	 * Same as {@link #setAccessible(Method)} but throws no exceptions
+	 *
+	 * @param method Method to set accessible
+	 * @return the Method, or <code>null</code> if it could not be set accessible
+	 */
+	public static Method setAccessibleSilent(Method method) {
+		try {
+			method.setAccessible(true);
+			return method;
+		} catch (RuntimeException ignored) {
+		}
+		return null;
+	}
+
+	/**
+	 * Same as {@link #setAccessible(Constructor)} but throws no exceptions
+	 *
+	 * @param constructor Constructor to set accessible
+	 * @return the Constructor, or <code>null</code> if it could not be set accessible
+	 */
+	public static Constructor setAccessibleSilent(Constructor constructor) {
+		try {
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (RuntimeException ignored) {
+		}
+		return null;
+	}
+
 }
@@ -0,0 +1,91 @@
+package com.hexocraft.lib.refection.util;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import org.inventivetalent.reflection.annotation.Class;
+import org.inventivetalent.reflection.annotation.Field;
+import org.inventivetalent.reflection.annotation.Method;
+import org.inventivetalent.reflection.resolver.wrapper.FieldWrapper;
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper;
+
+
+/**
+ * Holders of annotated fields, for the ReflectionAnnotations tests
+ */
+public class AnnotatedHolder {
+
+    @Class({"com.hexocraft.lib.refection.util.MissingClass", "com.hexocraft.lib.refection.util.OuterClass"})
+    public java.lang.Class<?> outerClass;
+
+    @Field(className = "com.hexocraft.lib.refection.util.OuterClass", value = {"missing", "data"})
+    FieldWrapper<Integer> data;
+
+    @Method(className = "@Class(outerClass)", value = "getData")
+    java.lang.reflect.Method getData;
+
+    @Method(className = "com.hexocraft.lib.refection.util.OuterClass", value = "void setDataValue(int,String)")
+    MethodWrapper<Void> setDataValue;
+
+    @Field(className = "com.hexocraft.lib.refection.util.OuterClass", value = "missing")
+    java.lang.reflect.Field missing;
+
+    /**
+     * Private fields can't be assigned by a generated loader, this holder is loaded through reflection
+     */
+    public static class PrivateHolder {
+
+        @Field(className = "com.hexocraft.lib.refection.util.OuterClass", value = {"missing", "value"})
+        private java.lang.reflect.Field value;
+
+        public java.lang.reflect.Field getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Static fields are populated by the first load only
+     */
+    public static class StaticHolder {
+
+        @Class("com.hexocraft.lib.refection.util.OuterClass")
+        private static java.lang.Class<?> outerClass;
+
+        @Method(className = "@Class(outerClass)", value = "getData")
+        private static java.lang.reflect.Method getData;
+
+        @Field(className = "com.hexocraft.lib.refection.util.OuterClass", value = "value")
+        private java.lang.reflect.Field value;
+
+        public static java.lang.Class<?> getOuterClass() {
+            return outerClass;
+        }
+
+        public static java.lang.reflect.Method getGetData() {
+            return getData;
+        }
+
+        public static void setGetData(java.lang.reflect.Method method) {
+            getData = method;
+        }
+
+        public java.lang.reflect.Field getValue() {
+            return value;
+        }
+    }
+}
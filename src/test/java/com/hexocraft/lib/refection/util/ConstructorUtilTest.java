@@ -19,12 +19,19 @@ package com.hexocraft.lib.refection.util;
  */
 
 import com.hexocraft.lib.reflection.util.ConstructorUtil;
+import org.inventivetalent.reflection.accessor.Factory;
+import org.inventivetalent.reflection.resolver.wrapper.ClassWrapper;
+import org.inventivetalent.reflection.resolver.wrapper.ConstructorWrapper;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class ConstructorUtilTest {
@@ -73,4 +80,25 @@ class ConstructorUtilTest {
         OuterClass outerStringClass = ConstructorUtil.invokeConstructorSilent(ConstructorUtil.getConstructorSilent(OuterClass.class, String.class), "This is my value");
         OuterClass outerIntStringClass = ConstructorUtil.invokeConstructorSilent(ConstructorUtil.getConstructorSilent(OuterClass.class, int.class, String.class), 10, "This is my value");
     }
+
+    @Test
+    void factory() throws ReflectiveOperationException {
+
+        //Constructor of a package-private class, made accessible by ConstructorUtil, called through a MethodHandle
+        Factory<?> innerFactory = Factory.of(ConstructorUtil.getConstructor(OuterClass.innerClass.class, String.class));
+        assertTrue(innerFactory.isDirect());
+        assertEquals(OuterClass.innerClass.class, innerFactory.create("This is my value").getClass());
+
+        Factory<OuterClass> factory = Factory.of(OuterClass.class.getConstructor(int.class, String.class));
+        assertSame(factory, Factory.of(OuterClass.class.getConstructor(int.class, String.class)));
+        OuterClass outerClass = factory.create(10, "This is my value");
+        assertEquals(10, outerClass.getData());
+        assertEquals("This is my value", factory.newInstance(10, "This is my value").getValue());
+        assertThrows(IllegalArgumentException.class, () -> factory.create(10));
+        assertThrows(IllegalArgumentException.class, () -> factory.create("10", "This is my value"));
+        assertThrows(IllegalArgumentException.class, () -> factory.create(null, "This is my value"));
+
+        assertEquals(OuterClass.class, new ClassWrapper<>(OuterClass.class).newInstance().getClass());
+        assertEquals(10, new ConstructorWrapper<>(OuterClass.class.getConstructor(int.class)).newInstance(10).getData());
+    }
 }
@@ -19,14 +19,25 @@ package com.hexocraft.lib.refection.util;
  */
 
 import com.hexocraft.lib.reflection.util.FieldUtil;
+import org.inventivetalent.reflection.accessor.FieldLayout.Snapshot;
+import org.inventivetalent.reflection.resolver.FieldResolver;
+import org.inventivetalent.reflection.resolver.ResolverAbstract;
+import org.inventivetalent.reflection.resolver.ResolverCache;
+import org.inventivetalent.reflection.resolver.ResolverQuery;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 class FieldUtilTest {
@@ -77,6 +88,51 @@ class FieldUtilTest {
         assertEquals((String) FieldUtil.getFieldSilent("value", outerClass), (String) "This is my value");
     }
 
+    @Test
+    void getFieldCached() throws NoSuchFieldException {
+
+        Field data = FieldUtil.getField(OuterClass.class, "data");
+        long hits = ResolverCache.hits();
+
+        //getField(Class<?> clazz, String name) reuses the resolver of the class
+        assertSame(data, FieldUtil.getField(OuterClass.class, "data"));
+        assertTrue(ResolverCache.hits() > hits);
+    }
+
+    @Test
+    void getFieldFallback() throws NoSuchFieldException {
+
+        Field data = FieldUtil.getField(OuterClass.class, "data");
+        FieldResolver resolver = ResolverCache.fieldResolver(OuterClass.class);
+
+        //Known misses are skipped, the resolved alternative is memoized
+        assertSame(data, resolver.resolveSilent("missing", "data"));
+        assertSame(data, resolver.resolveSilent("missing", "data"));
+        assertNull(resolver.resolveSilent("missing"));
+        assertNull(resolver.resolveSilent("missing"));
+
+        resolver.clearMisses();
+        assertSame(data, resolver.resolveSilent("missing", "data"));
+    }
+
+    @Test
+    void getFieldFallbackExpires() {
+
+        ToggleResolver resolver = new ToggleResolver();
+
+        //Misses are remembered forever by default, so is the resolved alternative
+        assertEquals("b", resolver.resolveSilent("a", "b"));
+        resolver.available = true;
+        assertEquals("b", resolver.resolveSilent("a", "b"));
+
+        //The resolved alternative is forgotten with the misses before it
+        resolver.available = false;
+        resolver.setMissTimeToLive(0, TimeUnit.SECONDS);
+        assertEquals("b", resolver.resolveSilent("a", "b"));
+        resolver.available = true;
+        assertEquals("a", resolver.resolveSilent("a", "b"));
+    }
+
     @Test
     void setField() throws IllegalAccessException {
 
@@ -91,6 +147,39 @@ class FieldUtilTest {
         assertEquals((String) FieldUtil.getFieldSilent("value", outerClass), (String) "This is an other value");
     }
 
+    @Test
+    void setFieldWrongArguments() {
+
+        Field data = FieldUtil.getFieldSilent(OuterClass.class, "data");
+
+        //Wrong targets & values fail like Field#get and Field#set
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.getField(data, "not an OuterClass"));
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.getInt(data, "not an OuterClass"));
+        assertThrows(NullPointerException.class, () -> FieldUtil.getField(data, null));
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.setField(data, "not an OuterClass", 20));
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.setInt(data, "not an OuterClass", 20));
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.setField(data, outerClass, "20"));
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.setField(data, outerClass, null));
+    }
+
+    @Test
+    void primitiveField() throws IllegalAccessException {
+
+        Field data = FieldUtil.getFieldSilent(OuterClass.class, "data");
+
+        //getInt(Field field, Object from)
+        assertEquals(FieldUtil.getInt(data, outerClass), 10);
+
+        //setInt(Field field, Object object, int value)
+        FieldUtil.setInt(data, outerClass, 20);
+        assertEquals(FieldUtil.getInt(data, outerClass), 20);
+
+        //widening
+        assertEquals(FieldUtil.getLong(data, outerClass), 20L);
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.getShort(data, outerClass));
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.setFloat(data, outerClass, 1f));
+    }
+
     @Test
     void transferFields() throws NoSuchFieldException, IllegalAccessException {
 
@@ -125,4 +214,94 @@ class FieldUtilTest {
         assertEquals((int) FieldUtil.getFieldSilent("data", outerClassEmpty), (int) 10);
         assertEquals((String) FieldUtil.getFieldSilent("value", outerClassEmpty), (String) "This is my value");
     }
+
+    @Test
+    void transferFieldsDeep() throws NoSuchFieldException, IllegalAccessException {
+
+        ArrayHolder from = new ArrayHolder();
+        from.id = 42L;
+        from.values = new int[] {1, 2, 3};
+        from.names = new String[][] {{"a"}, {"b", "c"}};
+
+        ArrayHolder shallow = new ArrayHolder();
+        FieldUtil.transferFields(ArrayHolder.class, from, shallow, false);
+        assertEquals(42L, shallow.id);
+        assertSame(from.values, shallow.values);
+
+        ArrayHolder deep = new ArrayHolder();
+        FieldUtil.transferFields(ArrayHolder.class, from, deep, true);
+        assertEquals(42L, deep.id);
+        assertNotSame(from.values, deep.values);
+        assertArrayEquals(from.values, deep.values);
+        assertNotSame(from.names[1], deep.names[1]);
+        assertArrayEquals(from.names[1], deep.names[1]);
+
+        ArrayHolder subset = new ArrayHolder();
+        FieldUtil.transferFields(ArrayHolder.class, from, subset, "id");
+        assertEquals(42L, subset.id);
+        assertNull(subset.values);
+        assertThrows(NoSuchFieldException.class, () -> FieldUtil.transferFields(ArrayHolder.class, from, subset, "missing"));
+    }
+
+    @Test
+    void snapshotFields() {
+
+        ArrayHolder holder = new ArrayHolder();
+        holder.id = 42L;
+        holder.values = new int[] {1, 2, 3};
+
+        Snapshot snapshot = FieldUtil.snapshotFields(holder);
+        assertEquals(42L, snapshot.get(0));
+        assertEquals(42L, snapshot.getLayout().toMap(snapshot).get("id"));
+
+        ArrayHolder copy = new ArrayHolder();
+        FieldUtil.applyFields(snapshot, copy);
+        assertEquals(42L, copy.id);
+        assertSame(holder.values, copy.values);
+
+        //Only the changed fields are written
+        holder.id = 43L;
+        Snapshot changed = snapshot.getLayout().snapshot(holder, snapshot.getLayout().newSnapshot());
+        assertEquals(1, snapshot.getLayout().diff(snapshot, changed).cardinality());
+        copy.values = null;
+        assertEquals(1, FieldUtil.applyChangedFields(changed, snapshot, copy));
+        assertEquals(43L, copy.id);
+        assertNull(copy.values);
+
+        //Superclass fields are part of the layout
+        OuterSubClass subClass = new OuterSubClass();
+        subClass.setData(10);
+        subClass.extra = 1.5f;
+        Snapshot subSnapshot = FieldUtil.snapshotFields(subClass);
+        OuterSubClass subCopy = new OuterSubClass();
+        FieldUtil.applyFields(subSnapshot, subCopy);
+        assertEquals(10, subCopy.getData());
+        assertEquals(1.5f, subCopy.extra);
+        assertThrows(IllegalArgumentException.class, () -> FieldUtil.applyFields(subSnapshot, new OuterClass()));
+    }
+
+    static class OuterSubClass extends OuterClass {
+        private float extra;
+    }
+
+    static class ArrayHolder {
+        private long       id;
+        private int[]      values;
+        private String[][] names;
+    }
+
+    private static final class ToggleResolver extends ResolverAbstract<String> {
+
+        private boolean available;// Whether "a" can be resolved
+
+        String resolveSilent(String... names) {
+            return resolveSilent(toQueries(names));
+        }
+
+        @Override
+        protected String resolveObject(ResolverQuery query) throws ReflectiveOperationException {
+            if ("a".equals(query.getName()) && !available) { throw new ReflectiveOperationException(query.getName()); }
+            return query.getName();
+        }
+    }
 }
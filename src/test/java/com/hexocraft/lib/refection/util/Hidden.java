@@ -0,0 +1,35 @@
+package com.hexocraft.lib.refection.util;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+// Top level, so the private members are not reachable through the nestmate access of a test class
+final class Hidden {
+
+    private int number = 42;
+
+    private Hidden() {
+    }
+
+    static Hidden create() {
+        return new Hidden();
+    }
+
+    private int secret() {
+        return 42;
+    }
+}
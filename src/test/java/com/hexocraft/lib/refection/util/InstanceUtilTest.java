@@ -19,13 +19,17 @@ package com.hexocraft.lib.refection.util;
  */
 
 import com.hexocraft.lib.reflection.util.InstanceUtil;
+import org.inventivetalent.reflection.accessor.Factory;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 
 class InstanceUtilTest {
@@ -90,4 +94,18 @@ class InstanceUtilTest {
         assertNotNull(InstanceUtil.newInstanceSilent(OuterClass.class, intStringType, intStringArg));
 
     }
+
+    @Test
+    void getFactory() throws ReflectiveOperationException {
+
+        Factory<OuterClass> factory = InstanceUtil.getFactory(OuterClass.class, int.class, String.class);
+        assertSame(factory, InstanceUtil.getFactory(OuterClass.class, int.class, String.class));
+
+        OuterClass outerClass = factory.create(10, "This is my value");
+        assertEquals(10, outerClass.getData());
+        assertEquals("This is my value", outerClass.getValue());
+
+        assertEquals("This is my value", InstanceUtil.getFactory(OuterClass.class, String.class).create("This is my value").getValue());
+        assertNull(InstanceUtil.getFactorySilent(OuterClass.class, long.class));
+    }
 }
@@ -19,10 +19,21 @@ package com.hexocraft.lib.refection.util;
  */
 
 import com.hexocraft.lib.reflection.util.MethodUtil;
+import org.inventivetalent.reflection.accessor.Factory;
+import org.inventivetalent.reflection.accessor.FieldAccessor;
+import org.inventivetalent.reflection.accessor.MethodInvoker;
+import org.inventivetalent.reflection.resolver.MemberIndex;
+import org.inventivetalent.reflection.resolver.MethodResolver;
+import org.inventivetalent.reflection.resolver.wrapper.MethodWrapper.MethodSignature;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -100,6 +111,81 @@ class MethodUtilTest {
         assertEquals((String) MethodUtil.invokeMethod(getValue, outerClass), (String) "This is an other other value");
     }
 
+    @Test
+    void invokeMethodWrongArity() throws NoSuchMethodException {
+
+        OuterClass outerClass = new OuterClass(10, "This is my value");
+
+        Method setDataValue = MethodUtil.getMethod(OuterClass.class, "setDataValue", int.class, String.class);
+
+        assertThrows(IllegalArgumentException.class, () -> MethodUtil.invokeMethod(setDataValue, outerClass));
+        assertThrows(IllegalArgumentException.class, () -> MethodUtil.invokeMethod(setDataValue, outerClass, 30));
+        assertThrows(IllegalArgumentException.class, () -> MethodUtil.invokeMethod(setDataValue, outerClass, 30, "a", "b"));
+    }
+
+    @Test
+    void invokeMethodWrongArguments() throws NoSuchMethodException {
+
+        // Caller errors fail like Method#invoke, only exceptions of the method are wrapped
+        MethodInvoker getData = MethodInvoker.of(OuterClass.class.getMethod("getData"));
+        assertThrows(IllegalArgumentException.class, () -> getData.invoke0("not an OuterClass"));
+        assertThrows(NullPointerException.class, () -> getData.invoke0(null));
+
+        MethodInvoker setDataValue = MethodInvoker.of(OuterClass.class.getMethod("setDataValue", int.class, String.class));
+        assertThrows(IllegalArgumentException.class, () -> setDataValue.invoke2(new OuterClass(), "10", "a"));
+        assertThrows(IllegalArgumentException.class, () -> setDataValue.invoke2(new OuterClass(), null, "a"));
+        assertThrows(IllegalArgumentException.class, () -> setDataValue.invoke(new OuterClass(), 10, 20));
+
+        // String#compareTo casts its argument itself
+        MethodInvoker compareTo = MethodInvoker.of(Comparable.class.getMethod("compareTo", Object.class));
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> compareTo.invoke1("a", 10));
+        assertTrue(e.getCause() instanceof ClassCastException);
+    }
+
+    @Test
+    void invokeMethodWidening() throws ReflectiveOperationException {
+
+        // Primitive arguments are widened like Method#invoke, also through a generated class
+        PrimitiveHolder holder = new PrimitiveHolder();
+        Method setValue = PrimitiveHolder.class.getMethod("setValue", long.class);
+        MethodUtil.invokeMethod(setValue, holder, 7);
+        assertEquals(7L, holder.getValue());
+        MethodInvoker.of(setValue).invoke1(holder, (short) 8);
+        assertEquals(8L, holder.getValue());
+        assertThrows(IllegalArgumentException.class, () -> MethodInvoker.of(setValue).invoke1(holder, 9.0));
+
+        Factory<PrimitiveHolder> factory = Factory.of(PrimitiveHolder.class.getConstructor(long.class));
+        assertEquals(9L, factory.create(9).getValue());
+        assertEquals(10L, factory.create('\n').getValue());
+        assertThrows(IllegalArgumentException.class, () -> factory.create("10"));
+    }
+
+    @Test
+    void invokeInaccessibleMethod() throws ReflectiveOperationException {
+
+        // Private members which were not made accessible are checked like Method#invoke
+        Method secret = Hidden.class.getDeclaredMethod("secret");
+        assertThrows(IllegalAccessException.class, () -> secret.invoke(Hidden.create()));
+        assertThrows(IllegalAccessException.class, () -> MethodInvoker.of(secret).invoke0(Hidden.create()));
+        assertThrows(IllegalAccessException.class, () -> Factory.of(Hidden.class.getDeclaredConstructor()).create());
+
+        // Also once an accessor was cached for an accessible copy of the same member
+        Method accessible = Hidden.class.getDeclaredMethod("secret");
+        accessible.setAccessible(true);
+        assertEquals(42, (int) MethodInvoker.of(accessible).invoke0(Hidden.create()));
+        assertThrows(IllegalAccessException.class, () -> MethodInvoker.of(Hidden.class.getDeclaredMethod("secret")).invoke0(Hidden.create()));
+
+        Field number = Hidden.class.getDeclaredField("number");
+        number.setAccessible(true);
+        assertEquals(42, FieldAccessor.of(number).getInt(Hidden.create()));
+        assertThrows(RuntimeException.class, () -> FieldAccessor.of(Hidden.class.getDeclaredField("number")).getInt(Hidden.create()));
+
+        Constructor<Hidden> constructor = Hidden.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        assertNotNull(Factory.of(constructor).create());
+        assertThrows(IllegalAccessException.class, () -> Factory.of(Hidden.class.getDeclaredConstructor()).create());
+    }
+
     @Test
     void invokeMethodSilent() {
 
@@ -125,4 +211,39 @@ class MethodUtilTest {
         assertEquals((int) MethodUtil.invokeMethodSilent(getData, outerClass), (int) 30);
         assertEquals((String) MethodUtil.invokeMethodSilent(getValue, outerClass), (String) "This is an other other value");
     }
+
+    @Test
+    void signatureMatches() throws NoSuchMethodException {
+        MethodSignature setDataValue = MethodSignature.of(MethodUtil.getMethod(OuterClass.class, "setDataValue", int.class, String.class), false);
+
+        assertTrue(MethodSignature.fromString("void setDataValue(int,String)").matches(setDataValue));
+        assertTrue(MethodSignature.fromString("* set*(int,?????g)").matches(setDataValue));
+        assertTrue(MethodSignature.fromString("void *(*,*)").matches(setDataValue));
+        assertFalse(MethodSignature.fromString("void set?(int,String)").matches(setDataValue));
+        assertFalse(MethodSignature.fromString("void setDataValue(int)").matches(setDataValue));
+        assertFalse(MethodSignature.fromString("void setDataValue(int,Str)").matches(setDataValue));
+
+        MemberIndex index = MemberIndex.of(OuterClass.class);
+        assertEquals(index.method(index.methodOrdinal(MethodSignature.fromString("String get*()"))), MethodUtil.getMethod(OuterClass.class, "getValue"));
+        assertEquals(-1, index.methodOrdinal(MethodSignature.fromString("long get*()")));
+    }
+
+    @Test
+    void resolveSignaturePattern() throws NoSuchMethodException {
+        MethodResolver resolver = new MethodResolver(OuterClass.class);
+
+        assertEquals(MethodUtil.getMethod(OuterClass.class, "setDataValue", int.class, String.class), resolver.resolveSignaturePattern("void *(int,String)", "* set*(int,*)"));
+        assertNull(resolver.resolveSignaturePatternSilent("long get*()"));
+        assertThrows(NoSuchMethodException.class, () -> resolver.resolveSignaturePattern("long get*()"));
+
+        assertEquals(Arrays.asList(MethodUtil.getMethod(OuterClass.class, "getData"), MethodUtil.getMethod(OuterClass.class, "getValue")),
+                sortByName(resolver.resolveAllMatching("int get*()", "String get?????()")));
+        assertEquals(3, resolver.resolveAllMatching("void set*(*)", "void set*(*,*)").size());
+    }
+
+    //Declaration order of getDeclaredMethods is not specified
+    private static List<Method> sortByName(List<Method> methods) {
+        methods.sort(Comparator.comparing(Method::getName));
+        return methods;
+    }
 }
@@ -0,0 +1,69 @@
+package com.hexocraft.lib.refection.util;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import org.inventivetalent.reflection.minecraft.Minecraft.Version;
+import org.inventivetalent.reflection.minecraft.VersionedValue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+class MinecraftVersionTest {
+
+    @Test
+    void parse() {
+
+        assertEquals(10803, Version.parse("org.bukkit.craftbukkit.v1_8_R3"));
+        assertEquals(11302, Version.parse("net.minecraft.server.v1_13_R2"));
+        assertEquals(11401, Version.parse("org.bukkit.craftbukkit.v1_14_R1"));
+        assertEquals(-1, Version.parse("org.bukkit.craftbukkit"));
+
+        // Known versions
+        assertSame(Version.v1_8_R3, Version.of(10803));
+        assertSame(Version.v1_13_R2, Version.of(11302));
+
+        // Unknown versions take the closest older version
+        assertSame(Version.v1_9_R2, Version.of(10903));
+        assertSame(Version.v1_13_R2, Version.of(11401));
+        assertSame(Version.UNKNOWN, Version.of(10601));
+        assertSame(Version.UNKNOWN, Version.of(-1));
+    }
+
+    @Test
+    void versionedValue() {
+
+        VersionedValue<String> value = VersionedValue.of("WatchableObject")
+                .since(Version.v1_12_R1, "DataWatcher$Item12")
+                .since(Version.v1_9_R1, "DataWatcher$Item");
+
+        assertEquals("WatchableObject", value.get(Version.UNKNOWN));
+        assertEquals("WatchableObject", value.get(Version.v1_8_R3));
+        assertEquals("DataWatcher$Item", value.get(Version.v1_9_R1));
+        assertEquals("DataWatcher$Item", value.get(Version.v1_11_R1));
+        assertEquals("DataWatcher$Item12", value.get(Version.v1_12_R1));
+        assertEquals("DataWatcher$Item12", value.get(Version.v1_13_R2));
+
+        // Copies, the original value is unchanged
+        VersionedValue<String> replaced = value.since(Version.v1_9_R1, "Item");
+        assertEquals("Item", replaced.get(Version.v1_10_R1));
+        assertEquals("DataWatcher$Item", value.get(Version.v1_10_R1));
+    }
+}
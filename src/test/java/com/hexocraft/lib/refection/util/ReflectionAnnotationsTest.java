@@ -0,0 +1,84 @@
+package com.hexocraft.lib.refection.util;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.reflection.util.FieldUtil;
+import com.hexocraft.lib.reflection.util.MethodUtil;
+import org.inventivetalent.reflection.annotation.ReflectionAnnotations;
+import org.inventivetalent.reflection.annotation.ReflectionLoaders;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+class ReflectionAnnotationsTest {
+
+    @Test
+    void loadGenerated() throws NoSuchFieldException, NoSuchMethodException {
+
+        //The loader is generated by the annotation processor when compiling the tests
+        assertNotNull(ReflectionLoaders.of(AnnotatedHolder.class));
+
+        AnnotatedHolder holder = new AnnotatedHolder();
+        ReflectionAnnotations.INSTANCE.load(holder);
+
+        assertSame(OuterClass.class, holder.outerClass);
+        assertEquals(FieldUtil.getField(OuterClass.class, "data"), holder.data.getField());
+        assertEquals(MethodUtil.getMethod(OuterClass.class, "getData"), holder.getData);
+        assertEquals(MethodUtil.getMethod(OuterClass.class, "setDataValue", int.class, String.class), holder.setDataValue.getMethod());
+        assertNull(holder.missing);
+
+        OuterClass outerClass = new OuterClass(10, "This is my value");
+        assertEquals(10, (int) holder.data.get(outerClass));
+    }
+
+    @Test
+    void loadReflective() throws NoSuchFieldException {
+
+        //No loader for private fields, falls back to reflection
+        assertNull(ReflectionLoaders.of(AnnotatedHolder.PrivateHolder.class));
+
+        AnnotatedHolder.PrivateHolder holder = new AnnotatedHolder.PrivateHolder();
+        ReflectionAnnotations.INSTANCE.load(holder);
+
+        assertEquals(FieldUtil.getField(OuterClass.class, "value"), holder.getValue());
+    }
+
+    @Test
+    void loadPlanned() throws NoSuchFieldException, NoSuchMethodException {
+
+        AnnotatedHolder.StaticHolder first = new AnnotatedHolder.StaticHolder();
+        ReflectionAnnotations.INSTANCE.load(first);
+
+        assertSame(OuterClass.class, AnnotatedHolder.StaticHolder.getOuterClass());
+        assertEquals(MethodUtil.getMethod(OuterClass.class, "getData"), AnnotatedHolder.StaticHolder.getGetData());
+        assertEquals(FieldUtil.getField(OuterClass.class, "value"), first.getValue());
+
+        //The plan is reused, static fields are not set again
+        AnnotatedHolder.StaticHolder.setGetData(null);
+        AnnotatedHolder.StaticHolder second = new AnnotatedHolder.StaticHolder();
+        ReflectionAnnotations.INSTANCE.load(second);
+
+        assertNull(AnnotatedHolder.StaticHolder.getGetData());
+        assertSame(first.getValue(), second.getValue());
+    }
+}
@@ -0,0 +1,151 @@
+package com.hexocraft.lib.refection.util;
+
+/*
+
+ Copyright 2018 hexosse
+
+ Licensed under the Apache License, Version 2.0 (the "License");
+ you may not use this file except in compliance with the License.
+ You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+
+ */
+
+import com.hexocraft.lib.reflection.util.ConstructorUtil;
+import com.hexocraft.lib.reflection.util.FieldUtil;
+import com.hexocraft.lib.reflection.util.MethodUtil;
+import org.inventivetalent.reflection.resolver.Bindings;
+import org.inventivetalent.reflection.resolver.ResolutionSnapshot;
+import org.inventivetalent.reflection.resolver.ResolverQuery;
+import org.inventivetalent.reflection.resolver.ResolverSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+class ResolverSchemaTest {
+
+    @Test
+    void resolve() throws ReflectiveOperationException {
+
+        ResolverSchema schema = new ResolverSchema();
+        int outerClass = schema.type("com.hexocraft.lib.refection.util.MissingClass", OuterClass.class.getName());
+        int data = schema.field(outerClass, "missing", "data");
+        int getData = schema.method(outerClass, "getData");
+        int setDataValue = schema.method(outerClass, new ResolverQuery("setDataValue", int.class, String.class));
+        int constructor = schema.constructor(outerClass, new Class[] {int.class, String.class});
+
+        Bindings bindings = schema.resolve();
+        bindings.checkResolved();
+
+        assertEquals(5, bindings.size());
+        assertFalse(bindings.hasFailures());
+        assertSame(OuterClass.class, bindings.getType(outerClass));
+        assertSame(FieldUtil.getField(OuterClass.class, "data"), bindings.getField(data));
+        assertSame(MethodUtil.getMethod(OuterClass.class, "getData"), bindings.getMethod(getData));
+        assertSame(MethodUtil.getMethod(OuterClass.class, "setDataValue", int.class, String.class), bindings.getMethod(setDataValue));
+        assertSame(ConstructorUtil.getConstructor(OuterClass.class, int.class, String.class), bindings.getConstructor(constructor));
+        assertThrows(IllegalArgumentException.class, () -> bindings.getMethod(data));
+    }
+
+    @Test
+    void resolveFailures() {
+
+        ResolverSchema schema = new ResolverSchema();
+        int missingClass = schema.type("com.hexocraft.lib.refection.util.MissingClass");
+        int missingClassField = schema.field(missingClass, "data");
+        int outerClass = schema.type(OuterClass.class);
+        int missingField = schema.field(outerClass, "missing");
+        int value = schema.field(outerClass, "value");
+
+        Bindings bindings = schema.resolve();
+
+        //All the failures are reported, the other requirements are still resolved
+        assertTrue(bindings.hasFailures());
+        assertEquals(3, bindings.getFailures().size());
+        assertNull(bindings.getType(missingClass));
+        assertNull(bindings.getField(missingClassField));
+        assertNull(bindings.getField(missingField));
+        assertTrue(bindings.isResolved(value));
+        assertThrows(ReflectiveOperationException.class, bindings::checkResolved);
+        assertThrows(IllegalArgumentException.class, () -> schema.field(missingField, "data"));
+    }
+
+    @Test
+    void resolveParallel() {
+
+        ResolverSchema schema = new ResolverSchema();
+        for (Class<?> clazz : new Class<?>[] {OuterClass.class, OuterClass.innerClass.class, FieldUtil.class, MethodUtil.class}) {
+            int type = schema.type(clazz.getName());
+            schema.field(type, "missing", "value", "data");
+            schema.method(type, "missing", "getValue", "getMethod");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Bindings sequential = schema.resolve();
+            Bindings parallel = schema.resolve(executor);
+
+            //Same bindings as the sequential resolution
+            assertEquals(sequential.size(), parallel.size());
+            for (int slot = 0; slot < sequential.size(); slot++) {
+                assertSame(sequential.get(slot), parallel.get(slot));
+            }
+            assertEquals(sequential.getFailures(), parallel.getFailures());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void resolveSnapshot() throws IOException {
+
+        ResolverSchema schema = new ResolverSchema();
+        int outerClass = schema.type("com.hexocraft.lib.refection.util.MissingClass", OuterClass.class.getName());
+        int value = schema.field(outerClass, "missing", "value");
+        int getData = schema.method(outerClass, "missing", "getData");
+        int constructor = schema.constructor(outerClass, new Class[] {String.class}, new Class[] {int.class, String.class});
+
+        File file = File.createTempFile("resolution", ".snapshot");
+        try {
+            //First boot, records the matching alternatives
+            ResolutionSnapshot snapshot = new ResolutionSnapshot("test", 1, 2);
+            Bindings bindings = schema.resolve(snapshot);
+            assertEquals(4, snapshot.size());
+            assertTrue(snapshot.isDirty());
+            snapshot.write(file);
+
+            //Next boot, goes straight to the recorded alternatives
+            ResolutionSnapshot next = new ResolutionSnapshot("test", 1, 2);
+            assertTrue(next.read(file));
+            Bindings nextBindings = schema.resolve(next);
+            assertEquals(4, next.hits());
+            assertFalse(next.isDirty());
+            for (int slot : new int[] {outerClass, value, getData, constructor}) {
+                assertEquals(bindings.get(slot), nextBindings.get(slot));
+            }
+
+            //Another server jar, the file is ignored
+            assertFalse(new ResolutionSnapshot("test", 3, 2).read(file));
+        } finally {
+            file.delete();
+        }
+    }
+}